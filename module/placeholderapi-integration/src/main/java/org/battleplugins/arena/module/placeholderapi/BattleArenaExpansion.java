@@ -12,6 +12,8 @@ import org.battleplugins.arena.messages.Messages;
 import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.resolver.ResolverKey;
 import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.util.Util;
 import org.bukkit.entity.Player;
@@ -61,6 +63,14 @@ public class BattleArenaExpansion extends PlaceholderExpansion {
                 return resolver.resolveToString(resolverKey);
             }
 
+            // Leaderboard placeholders (i.e. top_name_1_kills)
+            if (placeholder.startsWith("top_")) {
+                String leaderboardValue = this.resolveLeaderboard(arenaPlayer.getCompetition(), placeholder.substring("top_".length()));
+                if (leaderboardValue != null) {
+                    return leaderboardValue;
+                }
+            }
+
             // Additional placeholders for competition
             switch (placeholder) {
                 case "team_color": {
@@ -183,4 +193,50 @@ public class BattleArenaExpansion extends PlaceholderExpansion {
 
         return null;
     }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private String resolveLeaderboard(LiveCompetition<?> competition, String placeholder) {
+        // Format is <name|value>_<position>_<stat>
+        String[] split = placeholder.split("_", 3);
+        if (split.length < 3) {
+            return null;
+        }
+
+        int position;
+        try {
+            position = Integer.parseInt(split[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        ArenaStat<?> stat = ArenaStats.get(split[2]);
+        if (position < 1 || stat == null || !Number.class.isAssignableFrom(stat.getType())) {
+            return null;
+        }
+
+        List<ArenaPlayer> topPlayers = competition.getLeaderboardManager()
+                .getLeaderboard((ArenaStat<Number>) stat)
+                .getTopPlayers(position);
+
+        if (topPlayers.size() < position) {
+            return "";
+        }
+
+        ArenaPlayer player = topPlayers.get(position - 1);
+        return switch (split[0]) {
+            case "name" -> player.getPlayer().getName();
+            case "value" -> this.formatStat(player, stat);
+            default -> null;
+        };
+    }
+
+    private String formatStat(ArenaPlayer player, ArenaStat<?> stat) {
+        Object value = player.getStat(stat);
+        if (value == null) {
+            value = stat.getDefaultValue();
+        }
+
+        return value == null ? "" : String.valueOf(value);
+    }
 }
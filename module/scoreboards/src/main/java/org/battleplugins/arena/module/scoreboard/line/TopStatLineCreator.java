@@ -45,15 +45,9 @@ public class TopStatLineCreator implements ScoreboardLineCreator {
         }
 
         List<Component> lines = new ArrayList<>(this.maxEntries);
-        List<ArenaPlayer> players = player.getCompetition().getPlayers()
-                .stream()
-                .sorted((player1, player2) -> {
-                    int value1 = statOrDefault(player1, (ArenaStat<Number>) stat).intValue();
-                    int value2 = statOrDefault(player2, (ArenaStat<Number>) stat).intValue();
-                    return this.ascending ? Integer.compare(value1, value2) : Integer.compare(value2, value1);
-                })
-                .limit(this.maxEntries)
-                .toList();
+        List<ArenaPlayer> players = player.getCompetition().getLeaderboardManager()
+                .getLeaderboard((ArenaStat<Number>) stat)
+                .getTopPlayers(this.maxEntries, this.ascending);
 
         for (ArenaPlayer arenaPlayer : players) {
             Component component = Component.text(arenaPlayer.getPlayer().getName());
@@ -9,14 +9,12 @@ import org.battleplugins.arena.competition.team.TeamManager;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.ArenaStats;
-import org.battleplugins.arena.stat.StatHolder;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.util.Version;
 
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 public class TopTeamStatLineCreator implements ScoreboardLineCreator {
 
@@ -77,17 +75,8 @@ public class TopTeamStatLineCreator implements ScoreboardLineCreator {
     }
 
     private static Number statOrDefault(TeamManager manager, ArenaTeam team, ArenaStat<Number> stat) {
-        StatHolder stats = manager.getStats(team);
-        if (stats.stat(stat).isEmpty()) {
-            Set<ArenaPlayer> players = manager.getPlayersOnTeam(team);
-            int score = 0;
-            for (ArenaPlayer teamPlayer : players) {
-                score += teamPlayer.stat(stat).orElse(stat.getDefaultValue()).intValue();
-            }
-
-            return score;
-        } else {
-            return stats.stat(stat).orElse(stat.getDefaultValue());
-        }
+        // Team totals are kept up to date as stats change, so this does not
+        // need to iterate the players on the team
+        return manager.getStats(team).stat(stat).orElse(0);
     }
 }
@@ -121,6 +121,8 @@ public class Arena implements ArenaLike, ArenaListener, ConfigHolder, Resolvable
     private final ArenaEventManager eventManager;
     private final Map<String, ConfigurationSection> config = new HashMap<>();
 
+    private Resolver resolver;
+
     public Arena() {
         this.eventManager = new ArenaEventManager(this);
     }
@@ -364,8 +366,13 @@ public class Arena implements ArenaLike, ArenaListener, ConfigHolder, Resolvable
 
     @Override
     public Resolver resolve() {
-        return Resolver.builder()
-                .define(ResolverKeys.ARENA, ResolverProvider.simple(this, Arena::getName))
-                .build();
+        // The arena scope never changes, so it only needs to be built once
+        if (this.resolver == null) {
+            this.resolver = Resolver.builder()
+                    .define(ResolverKeys.ARENA, ResolverProvider.simple(this, Arena::getName))
+                    .build();
+        }
+
+        return this.resolver;
     }
 }
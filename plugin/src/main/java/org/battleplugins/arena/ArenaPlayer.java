@@ -3,17 +3,17 @@ package org.battleplugins.arena;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.PlayerStorage;
+import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
 import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.battleplugins.arena.resolver.Resolver;
-import org.battleplugins.arena.resolver.ResolverKey;
 import org.battleplugins.arena.resolver.ResolverKeys;
 import org.battleplugins.arena.resolver.ResolverProvider;
 import org.battleplugins.arena.stat.ArenaStat;
-import org.battleplugins.arena.stat.ArenaStats;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatTable;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.bukkit.entity.Player;
 import org.bukkit.metadata.FixedMetadataValue;
@@ -22,6 +22,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -36,7 +37,8 @@ public class ArenaPlayer implements StatHolder, Resolvable {
 
     private final PlayerStorage storage;
 
-    private final Map<ArenaStat<?>, Object> stats = new HashMap<>();
+    private final StatTable stats = StatTable.withDefaults();
+    private final ArenaPlayerStats statAccess = new ArenaPlayerStats(this, this.stats);
     private final Map<Class<?>, Object> metadata = new HashMap<>();
 
     private PlayerRole role;
@@ -51,11 +53,6 @@ public class ArenaPlayer implements StatHolder, Resolvable {
         this.storage = new PlayerStorage(this);
 
         this.setMetadata();
-
-        // Register default stats
-        for (ArenaStat<?> stat : ArenaStats.values()) {
-            this.stats.put(stat, stat.getDefaultValue());
-        }
     }
 
     /**
@@ -192,7 +189,39 @@ public class ArenaPlayer implements StatHolder, Resolvable {
     @Override
     @Nullable
     public <T> T getStat(ArenaStat<T> stat) {
-        return (T) this.stats.get(stat);
+        return this.stats.get(stat);
+    }
+
+    /**
+     * Returns the {@link ArenaPlayerStats} of this player, which allows
+     * changing multiple stats at once with a single event.
+     *
+     * @return the stats of this player
+     */
+    public ArenaPlayerStats stats() {
+        return this.statAccess;
+    }
+
+    /**
+     * Runs the given action for every {@link ArenaStat} this player
+     * holds a value for, including stats registered by modules.
+     *
+     * @param action the action to run
+     */
+    public void forEachStat(Consumer<ArenaStat<?>> action) {
+        this.stats.forEach(action);
+    }
+
+    /**
+     * Returns the value of the given integer {@link ArenaStat}, without
+     * boxing it.
+     *
+     * @param stat the stat to get
+     * @return the stat of the given arena stat, or 0 if the
+     *         stat is not set for this player
+     */
+    public int getIntStat(ArenaStat<Integer> stat) {
+        return this.stats.getInt(stat);
     }
 
     /**
@@ -215,12 +244,49 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      * @param <T> the type of the stat
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> void computeStat(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
-        this.stats.compute(stat, (key, oldValue) -> {
-            T newValue = computeFunction.apply((T) oldValue);
-            return this.statChange(stat, (T) oldValue, newValue);
-        });
+        T oldValue = this.stats.get(stat);
+        T newValue = computeFunction.apply(oldValue);
+        if (stat.isCoalesced()) {
+            this.statAccess.changeCoalesced(stat, oldValue, newValue);
+            return;
+        }
+
+        this.stats.set(stat, this.statChange(stat, oldValue, newValue));
+    }
+
+    /**
+     * Increments the value of the given integer {@link ArenaStat}. A stat
+     * that is not set for this player is treated as 0.
+     *
+     * @param stat the stat to increment
+     * @param amount the amount to increment the stat by
+     * @return the new value of the stat
+     */
+    public int incrementStat(ArenaStat<Integer> stat, int amount) {
+        if (stat.isCoalesced()) {
+            return this.statAccess.incrementCoalesced(stat, amount);
+        }
+
+        // Nothing can observe or change the value, so skip boxing it for the event
+        if (!this.hasStatChangeListeners()) {
+            return this.stats.increment(stat, amount);
+        }
+
+        Integer oldValue = this.stats.has(stat) ? this.stats.getInt(stat) : null;
+        Integer newValue = this.statChange(stat, oldValue, (oldValue == null ? 0 : oldValue) + amount);
+        if (newValue == null) {
+            this.stats.remove(stat);
+            return 0;
+        }
+
+        this.stats.set(stat, newValue);
+        return newValue;
+    }
+
+    private boolean hasStatChangeListeners() {
+        return ArenaStatChangeEvent.getHandlerList().getRegisteredListeners().length > 0
+                || this.arena.getEventManager().hasActions(this.competition, ArenaEventType.ON_STAT_CHANGE);
     }
 
     private <T> T statChange(ArenaStat<T> stat, T oldValue, T newValue) {
@@ -279,10 +345,15 @@ public class ArenaPlayer implements StatHolder, Resolvable {
      * Resets the state of this player.
      */
     public void resetState() {
-        // TODO: Save stats in a remote location (BattleTracker)
-        this.stats.clear();
+        this.statAccess.flush();
 
+        // Leave the team first so its stat totals no longer include this player
         this.competition.getTeamManager().leaveTeam(this);
+
+        this.arena.getPlugin().getStatStorage().record(this);
+        this.stats.clear();
+        this.competition.getLeaderboardManager().updatePlayer(this);
+
         this.competition.findAndJoinTeamIfApplicable(this);
     }
 
@@ -301,14 +372,16 @@ public class ArenaPlayer implements StatHolder, Resolvable {
             builder.define(ResolverKeys.TEAM, ResolverProvider.simple(this.team, ArenaTeam::getName, ArenaTeam::getFormattedName));
         }
 
-        for (Map.Entry<ArenaStat<?>, Object> entry : this.stats.entrySet()) {
-            ResolverKey<Object> statKey = ResolverKey.create("stat_" + entry.getKey().getKey(), Object.class);
-            builder.define(statKey, ResolverProvider.simple(entry.getValue(), String::valueOf));
-        }
+        this.stats.forEach(stat -> this.defineStat(builder, stat));
 
         return builder.build();
     }
 
+    private <T> void defineStat(Resolver.Builder builder, ArenaStat<T> stat) {
+        // Read the live value when resolved, rather than when the resolver is built
+        builder.define(ResolverKeys.stat(stat), ResolverProvider.dynamic(() -> this.getStat(stat), String::valueOf));
+    }
+
     @Override
     public String toString() {
         return "ArenaPlayer{" +
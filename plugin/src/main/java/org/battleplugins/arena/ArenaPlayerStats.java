@@ -0,0 +1,192 @@
+package org.battleplugins.arena;
+
+import org.battleplugins.arena.event.player.ArenaStatsChangeEvent;
+import org.battleplugins.arena.scheduler.ScheduledTask;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.StatChange;
+import org.battleplugins.arena.stat.StatTable;
+import org.battleplugins.arena.stat.StatTransaction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Provides batched access to the stats of an {@link ArenaPlayer}.
+ * <p>
+ * Every change made through {@link ArenaPlayer#computeStat} calls its
+ * own {@link org.battleplugins.arena.event.player.ArenaStatChangeEvent}.
+ * Changes made in a {@link #batch(Consumer) batch} are instead announced
+ * together in a single {@link ArenaStatsChangeEvent} once the batch is
+ * committed, as are changes to {@link ArenaStat#isCoalesced() coalesced}
+ * stats at the end of each tick.
+ */
+public final class ArenaPlayerStats {
+    private final ArenaPlayer player;
+    private final StatTable table;
+
+    // The value each coalesced stat had before it first changed this tick
+    private final Map<ArenaStat<?>, Object> pendingChanges = new LinkedHashMap<>();
+    private ScheduledTask flushTask;
+
+    ArenaPlayerStats(ArenaPlayer player, StatTable table) {
+        this.player = player;
+        this.table = table;
+    }
+
+    /**
+     * Applies the changes made by the given consumer as a single
+     * transaction, calling one {@link ArenaStatsChangeEvent} for all
+     * stats that changed.
+     *
+     * @param changes the consumer making the changes
+     */
+    public void batch(Consumer<StatTransaction> changes) {
+        Transaction transaction = new Transaction();
+        changes.accept(transaction);
+        transaction.commit();
+    }
+
+    /**
+     * Announces the pending changes to coalesced stats now,
+     * rather than at the end of the tick.
+     */
+    public void flush() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel();
+            this.flushTask = null;
+        }
+
+        if (this.pendingChanges.isEmpty()) {
+            return;
+        }
+
+        List<StatChange<?>> changes = new ArrayList<>(this.pendingChanges.size());
+        for (Map.Entry<ArenaStat<?>, Object> entry : this.pendingChanges.entrySet()) {
+            this.addChange(changes, entry.getKey(), entry.getValue(), this.table.get(entry.getKey()));
+        }
+
+        this.pendingChanges.clear();
+        if (!changes.isEmpty()) {
+            this.callEvent(changes);
+        }
+    }
+
+    <T> void changeCoalesced(ArenaStat<T> stat, T oldValue, T newValue) {
+        if (!this.pendingChanges.containsKey(stat)) {
+            this.pendingChanges.put(stat, oldValue);
+        }
+
+        this.table.set(stat, newValue);
+        this.scheduleFlush();
+    }
+
+    int incrementCoalesced(ArenaStat<Integer> stat, int amount) {
+        if (!this.pendingChanges.containsKey(stat)) {
+            this.pendingChanges.put(stat, this.table.has(stat) ? this.table.getInt(stat) : null);
+        }
+
+        int value = this.table.increment(stat, amount);
+        this.scheduleFlush();
+        return value;
+    }
+
+    private void scheduleFlush() {
+        if (this.flushTask == null) {
+            this.flushTask = this.player.getArena().getPlugin().getArenaScheduler().runTaskLater(this.player.getCompetition(), this::flush, 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void addChange(List<StatChange<?>> changes, ArenaStat<T> stat, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.add(new StatChange<>(stat, (T) oldValue, (T) newValue));
+        }
+    }
+
+    private void callEvent(List<StatChange<?>> changes) {
+        ArenaStatsChangeEvent event = new ArenaStatsChangeEvent(this.player.getCompetition(), this.player, changes);
+        this.player.getArena().getEventManager().callEvent(event);
+    }
+
+    private class Transaction implements StatTransaction {
+        // New values of the changed stats, in the order they were first changed
+        private final Map<ArenaStat<?>, Object> values = new LinkedHashMap<>();
+        private boolean committed;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T get(ArenaStat<T> stat) {
+            if (this.values.containsKey(stat)) {
+                return (T) this.values.get(stat);
+            }
+
+            return ArenaPlayerStats.this.table.get(stat);
+        }
+
+        @Override
+        public <T> StatTransaction set(ArenaStat<T> stat, T value) {
+            this.checkCommitted();
+
+            this.values.put(stat, value);
+            return this;
+        }
+
+        @Override
+        public <T> StatTransaction compute(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
+            return this.set(stat, computeFunction.apply(this.get(stat)));
+        }
+
+        @Override
+        public StatTransaction increment(ArenaStat<Integer> stat, int amount) {
+            Integer value = this.get(stat);
+            return this.set(stat, (value == null ? 0 : value) + amount);
+        }
+
+        void commit() {
+            this.checkCommitted();
+            this.committed = true;
+
+            List<StatChange<?>> changes = new ArrayList<>(this.values.size());
+            for (Map.Entry<ArenaStat<?>, Object> entry : this.values.entrySet()) {
+                ArenaStat<?> stat = entry.getKey();
+                Object oldValue = ArenaPlayerStats.this.table.get(stat);
+                if (stat.isCoalesced()) {
+                    // Announced with the other coalesced changes of this tick
+                    this.changeCoalesced(stat, oldValue, entry.getValue());
+                } else {
+                    ArenaPlayerStats.this.addChange(changes, stat, oldValue, entry.getValue());
+                }
+            }
+
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            // Same as individual changes, the event is called before the new values are stored
+            ArenaPlayerStats.this.callEvent(changes);
+            for (StatChange<?> change : changes) {
+                this.store(change);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> void changeCoalesced(ArenaStat<T> stat, Object oldValue, Object newValue) {
+            ArenaPlayerStats.this.changeCoalesced(stat, (T) oldValue, (T) newValue);
+        }
+
+        private <T> void store(StatChange<T> change) {
+            ArenaPlayerStats.this.table.set(change.stat(), change.newValue());
+        }
+
+        private void checkCommitted() {
+            if (this.committed) {
+                throw new IllegalStateException("Transaction has already been committed!");
+            }
+        }
+    }
+}
@@ -10,8 +10,12 @@ import org.battleplugins.arena.competition.PlayerRole;
 import org.battleplugins.arena.competition.event.EventOptions;
 import org.battleplugins.arena.competition.event.EventScheduler;
 import org.battleplugins.arena.competition.event.EventType;
+import org.battleplugins.arena.competition.map.DynamicWorldReaper;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.MapClipboardCache;
 import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.competition.map.RegionMapCloner;
+import org.battleplugins.arena.competition.matchmaking.Matchmaker;
 import org.battleplugins.arena.config.ArenaConfigParser;
 import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.event.BattleArenaPreInitializeEvent;
@@ -22,6 +26,8 @@ import org.battleplugins.arena.messages.MessageLoader;
 import org.battleplugins.arena.module.ArenaModuleContainer;
 import org.battleplugins.arena.module.ArenaModuleLoader;
 import org.battleplugins.arena.module.ModuleLoadException;
+import org.battleplugins.arena.scheduler.ArenaScheduler;
+import org.battleplugins.arena.stat.storage.StatStorage;
 import org.battleplugins.arena.team.ArenaTeams;
 import org.battleplugins.arena.util.CommandInjector;
 import org.battleplugins.arena.util.LoggerHolder;
@@ -46,7 +52,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -72,7 +77,14 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     private final Map<String, ArenaLoader> arenaLoaders = new HashMap<>();
 
     private final CompetitionManager competitionManager = new CompetitionManager(this);
+    private final Matchmaker matchmaker = new Matchmaker(this);
     private final EventScheduler eventScheduler = new EventScheduler();
+    private final ArenaScheduler scheduler = new ArenaScheduler(this);
+    private final MapClipboardCache mapClipboardCache = new MapClipboardCache(this);
+
+    private StatStorage statStorage;
+    private DynamicWorldReaper worldReaper;
+    private RegionMapCloner regionMapCloner;
 
     private BattleArenaConfig config;
     private ArenaModuleLoader moduleLoader;
@@ -112,6 +124,13 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     public void onEnable() {
         Bukkit.getPluginManager().registerEvents(new BattleArenaListener(this), this);
 
+        // Start the scheduler responsible for all arena timers
+        this.scheduler.start();
+
+        this.statStorage = new StatStorage(this, this.getDataFolder().toPath().resolve("stats"));
+        this.worldReaper = new DynamicWorldReaper(this, Bukkit.getWorldContainer().toPath());
+        this.regionMapCloner = new RegionMapCloner(this, this.getDataFolder().toPath().resolve("map-templates"));
+
         // Register default arenas
         this.registerArena(this, "Arena", Arena.class);
 
@@ -135,7 +154,7 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         new Metrics(this, PLUGIN_ID);
 
         // Cheeky little message about BattleTracker <3
-        if (Bukkit.getPluginManager().getPlugin("BattleTracker") == null) {
+        if (Bukkit.getPluginManager().getPlugin("BattleTracker") == null && !this.config.isSaveStats()) {
             this.warn("----------------------------------------");
             this.warn("BattleTracker not found! Arena statistics will not be saved.");
             this.warn("You can download BattleTracker at: https://modrinth.com/project/battletracker.");
@@ -181,17 +200,40 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         new BattleArenaShutdownEvent(this).callEvent();
 
         this.disable();
+
+        // Competitions have all been completed, so write out their stats
+        if (this.statStorage != null) {
+            this.statStorage.close();
+        }
+
+        // Any folders not deleted yet are deleted on the next startup
+        if (this.worldReaper != null) {
+            this.worldReaper.close();
+        }
+
+        if (this.regionMapCloner != null) {
+            this.regionMapCloner.close();
+        }
+
+        this.scheduler.stop();
     }
 
     private void disable() {
+        // Cancel any players still waiting to be placed
+        this.matchmaker.clear();
+
         // Close all active competitions
         this.competitionManager.completeAllActiveCompetitions();
 
+        // Remove dynamic maps which were prepared ahead of time
+        this.competitionManager.clearDynamicMapPool();
+
         // Stop all scheduled events
         this.eventScheduler.stopAllEvents();
 
         // Clear dynamic maps
         this.clearDynamicMaps();
+        this.mapClipboardCache.clear();
 
         for (Arena arena : this.arenas.values()) {
             arena.getEventManager().unregisterAll();
@@ -246,6 +288,9 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
                 this.info("Scheduled event for arena {} in {}m.", arena.getName(), options.getInterval().plus(options.getDelay()));
             }
         }
+
+        // Start preparing dynamic maps ahead of time
+        this.competitionManager.startDynamicMapPool();
     }
 
     /**
@@ -414,6 +459,9 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     public void removeArenaMap(Arena arena, LiveCompetitionMap map) {
         this.arenaMaps.computeIfAbsent(arena, k -> new ArrayList<>()).remove(map);
 
+        // Remove any copies of the map that were prepared ahead of time
+        this.competitionManager.clearDynamicMapPool(arena, map);
+
         // If the map is removed, also remove the competition if applicable
         for (Competition<?> competition : this.competitionManager.getCompetitions(arena)) {
             if (competition.getMap() == map) {
@@ -506,6 +554,36 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         return this.competitionManager.findJoinableCompetition(competitions, players, role);
     }
 
+    /**
+     * Finds a joinable {@link Competition} in the given {@link Arena} for the
+     * given {@link Player}s and {@link PlayerRole}.
+     *
+     * @param arena the arena to find the competition in
+     * @param name the name of the map, or null for any map
+     * @param players the players to find the competition for
+     * @param role the role of the player
+     * @return the competition result
+     */
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role) {
+        return this.competitionManager.findJoinableCompetition(arena, name, players, role);
+    }
+
+    /**
+     * Makes the given {@link Player}s join a {@link Competition} in the given
+     * {@link Arena}, creating a new dynamic competition if none can be joined.
+     * Slots are reserved for the players while they are being placed, so
+     * other players cannot fill the competition in the meantime.
+     *
+     * @param arena the arena to join
+     * @param name the name of the map, or null for any map
+     * @param players the players to join
+     * @param role the role of the players
+     * @return the competition result, completed once the players have joined
+     */
+    public CompletableFuture<CompetitionResult> joinCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role) {
+        return this.competitionManager.joinCompetition(arena, name, players, role);
+    }
+
     /**
      * Adds a new {@link Competition} to the given {@link Arena}.
      *
@@ -526,6 +604,26 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         this.competitionManager.removeCompetition(arena, competition);
     }
 
+    /**
+     * Returns the {@link CompetitionManager}, which is responsible for
+     * keeping track of the active competitions.
+     *
+     * @return the competition manager
+     */
+    public CompetitionManager getCompetitionManager() {
+        return this.competitionManager;
+    }
+
+    /**
+     * Returns the {@link Matchmaker}, which is responsible for
+     * placing players into competitions.
+     *
+     * @return the matchmaker
+     */
+    public Matchmaker getMatchmaker() {
+        return this.matchmaker;
+    }
+
     /**
      * Returns the {@link EventScheduler}, which is responsible for scheduling events.
      *
@@ -535,6 +633,56 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
         return this.eventScheduler;
     }
 
+    /**
+     * Returns the {@link ArenaScheduler}, which is responsible for running
+     * all timers within BattleArena.
+     *
+     * @return the arena scheduler
+     */
+    public ArenaScheduler getArenaScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Returns the {@link StatStorage} responsible for saving the
+     * lifetime stats of players.
+     *
+     * @return the stat storage
+     */
+    public StatStorage getStatStorage() {
+        return this.statStorage;
+    }
+
+    /**
+     * Returns the {@link MapClipboardCache} which holds a copy of
+     * the blocks of dynamic maps.
+     *
+     * @return the map clipboard cache
+     */
+    public MapClipboardCache getMapClipboardCache() {
+        return this.mapClipboardCache;
+    }
+
+    /**
+     * Returns the {@link RegionMapCloner} which copies maps into
+     * dynamic worlds at the region file level.
+     *
+     * @return the region map cloner
+     */
+    public RegionMapCloner getRegionMapCloner() {
+        return this.regionMapCloner;
+    }
+
+    /**
+     * Returns the {@link DynamicWorldReaper} responsible for deleting
+     * the worlds of dynamic maps which are no longer used.
+     *
+     * @return the world reaper
+     */
+    public DynamicWorldReaper getWorldReaper() {
+        return this.worldReaper;
+    }
+
     /**
      * Returns an in-memory representation of the configuration.
      *
@@ -756,18 +904,13 @@ public class BattleArena extends JavaPlugin implements LoggerHolder, BattleArena
     }
 
     private void clearDynamicMaps() {
-        for (File file : Bukkit.getWorldContainer().listFiles()) {
-            if (file.isDirectory() && file.getName().startsWith("ba-dynamic")) {
-                try {
-                    try (Stream<Path> pathsToDelete = Files.walk(file.toPath())) {
-                        for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                            Files.deleteIfExists(path);
-                        }
-                    }
-                } catch (IOException e) {
-                    this.error("Failed to delete dynamic map {}", file.getName(), e);
-                }
-            }
+        if (this.worldReaper != null) {
+            this.worldReaper.reapUnloaded();
+        }
+
+        // Templates are created again from the current map worlds
+        if (this.regionMapCloner != null) {
+            this.regionMapCloner.clear();
         }
     }
 
@@ -137,6 +137,32 @@ public interface BattleArenaApi {
      */
     CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Collection<Player> players, PlayerRole role);
 
+    /**
+     * Finds a joinable {@link Competition} in the given {@link Arena} for the
+     * given {@link Player}s and {@link PlayerRole}.
+     *
+     * @param arena the arena to find the competition in
+     * @param name the name of the map, or null for any map
+     * @param players the players to find the competition for
+     * @param role the role of the player
+     * @return the competition result
+     */
+    CompletableFuture<CompetitionResult> findJoinableCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role);
+
+    /**
+     * Makes the given {@link Player}s join a {@link Competition} in the given
+     * {@link Arena}, creating a new dynamic competition if none can be joined.
+     * Slots are reserved for the players while they are being placed, so
+     * other players cannot fill the competition in the meantime.
+     *
+     * @param arena the arena to join
+     * @param name the name of the map, or null for any map
+     * @param players the players to join
+     * @param role the role of the players
+     * @return the competition result, completed once the players have joined
+     */
+    CompletableFuture<CompetitionResult> joinCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role);
+
     /**
      * Returns the {@link EventScheduler}, which is responsible for scheduling events.
      *
@@ -1,6 +1,8 @@
 package org.battleplugins.arena;
 
 import org.battleplugins.arena.competition.event.EventOptions;
+import org.battleplugins.arena.competition.map.MapCloneEngine;
+import org.battleplugins.arena.competition.map.options.DynamicMapPoolOptions;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.Updater;
 import org.battleplugins.arena.config.updater.ConfigUpdater;
@@ -27,9 +29,24 @@ public class BattleArenaConfig {
     @ArenaOption(name = "max-dynamic-maps", description = "The maximum number of dynamic maps an Arena can have allocated at once.", required = true)
     private int maxDynamicMaps;
 
+    @ArenaOption(name = "dynamic-map-pool", description = "The options for preparing dynamic maps ahead of time.")
+    private DynamicMapPoolOptions dynamicMapPool = new DynamicMapPoolOptions();
+
+    @ArenaOption(name = "map-cache-size", description = "The maximum amount of memory, in megabytes, used to cache the blocks of dynamic maps.")
+    private int mapCacheSize = 64;
+
+    @ArenaOption(name = "map-clone-engine", description = "The engine used to copy maps into the worlds of dynamic maps.")
+    private MapCloneEngine mapCloneEngine = MapCloneEngine.WORLDEDIT;
+
+    @ArenaOption(name = "pad-map-bounds", description = "Whether map bounds should be padded to whole chunks when maps are cloned by region file.")
+    private boolean padMapBounds;
+
     @ArenaOption(name = "randomized-arena-join", description = "Whether players should be randomly placed in an Arena when joining without specifying a map.", required = true)
     private boolean randomizedArenaJoin;
 
+    @ArenaOption(name = "save-stats", description = "Whether the lifetime stats of players should be saved.")
+    private boolean saveStats = true;
+
     @ArenaOption(name = "disabled-modules", description = "Modules that are disabled by default.")
     private List<String> disabledModules;
 
@@ -55,10 +72,30 @@ public class BattleArenaConfig {
         return this.maxDynamicMaps;
     }
 
+    public DynamicMapPoolOptions getDynamicMapPool() {
+        return this.dynamicMapPool;
+    }
+
+    public int getMapCacheSize() {
+        return this.mapCacheSize;
+    }
+
+    public MapCloneEngine getMapCloneEngine() {
+        return this.mapCloneEngine;
+    }
+
+    public boolean isPadMapBounds() {
+        return this.padMapBounds;
+    }
+
     public boolean isRandomizedArenaJoin() {
         return this.randomizedArenaJoin;
     }
 
+    public boolean isSaveStats() {
+        return this.saveStats;
+    }
+
     public List<String> getDisabledModules() {
         return this.disabledModules == null ? List.of() : List.copyOf(this.disabledModules);
     }
@@ -84,6 +121,66 @@ public class BattleArenaConfig {
                                 "with players waiting will always be prioritized though, even with this setting",
                                 "enabled."
                         ));
+                    },
+                    "3.2", (config, instance) -> {
+                        config.set("save-stats", true);
+                        config.setComments("save-stats", List.of(
+                                "Whether the lifetime stats of players should be saved. Stats",
+                                "are saved in the stats folder once a player leaves a competition."
+                        ));
+                    },
+                    "3.3", (config, instance) -> {
+                        config.set("dynamic-map-pool.min-idle", 1);
+                        config.set("dynamic-map-pool.max-idle", 2);
+                        config.set("dynamic-map-pool.max-total", -1);
+                        config.setComments("dynamic-map-pool", List.of(
+                                "Dynamic maps can be prepared ahead of time, so players joining",
+                                "do not have to wait for a new world to be created and copied.",
+                                "Maps are only prepared when the server has spare time left in a",
+                                "tick, and idle maps count towards the max-dynamic-maps limit.",
+                                "Note that a map is still created and copied within a single tick, so",
+                                "preparing a large map will still cause a lag spike in that tick.",
+                                "  min-idle: The number of idle maps to keep ready for each dynamic map.",
+                                "  max-idle: The maximum number of idle maps to keep for each dynamic map.",
+                                "  max-total: The maximum number of idle and active maps for each dynamic",
+                                "             map. Set to -1 to disable this limit."
+                        ));
+                    },
+                    "3.4", (config, instance) -> {
+                        config.set("dynamic-map-pool.recycle-worlds", true);
+                        config.setComments("dynamic-map-pool.recycle-worlds", List.of(
+                                "Whether the world of a finished dynamic competition should be reset and",
+                                "kept for the next competition on the same map, rather than being deleted.",
+                                "Worlds are only kept while the map has less than max-idle idle maps."
+                        ));
+                    },
+                    "3.5", (config, instance) -> {
+                        config.set("map-cache-size", 64);
+                        config.setComments("map-cache-size", List.of(
+                                "The maximum amount of memory, in megabytes, used to keep a compressed",
+                                "copy of the blocks of dynamic maps, so they do not have to be read from",
+                                "the map world every time a dynamic map is created. Set to 0 to disable."
+                        ));
+                    },
+                    "3.6", (config, instance) -> {
+                        config.set("map-clone-engine", "worldedit");
+                        config.setComments("map-clone-engine", List.of(
+                                "The engine used to copy maps into the worlds of dynamic maps. Options:",
+                                "  worldedit: Copies the map block by block using WorldEdit.",
+                                "  region: Copies the chunks of the map from the region files of its world",
+                                "          before the dynamic world is loaded, which is much faster for large",
+                                "          maps. Falls back to WorldEdit for maps that cannot be copied this way.",
+                                "          The first time a map is copied, its world is saved once on the main thread,",
+                                "          which takes about as long as /save-all for that world alone, and the copy",
+                                "          then waits off the main thread for the region files to finish writing."
+                        ));
+                        config.set("pad-map-bounds", false);
+                        config.setComments("pad-map-bounds", List.of(
+                                "Only whole chunks can be copied by the region engine. If enabled, maps whose",
+                                "bounds are not aligned to chunks are padded to whole chunks, copying the",
+                                "blocks around the map in those chunks as well. Otherwise, these maps are",
+                                "copied using WorldEdit."
+                        ));
                     });
         }
     }
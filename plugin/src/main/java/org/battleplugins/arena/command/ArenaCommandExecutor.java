@@ -42,7 +42,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class ArenaCommandExecutor extends BaseCommandExecutor {
     private static final CompetitionMap RANDOM_MAP_MARKER = new CompetitionMap() {
@@ -124,10 +123,16 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
                 Messages.CANNOT_JOIN_ARENA_MEMBER_IN_ARENA.send(player);
                 return;
             }
+
+            if (this.arena.getPlugin().getMatchmaker().isQueued(toJoin)) {
+                Messages.ARENA_ALREADY_QUEUED.send(player);
+                return;
+            }
         }
 
-        List<Competition<?>> competitions = map == RANDOM_MAP_MARKER ? this.arena.getPlugin().getCompetitions(this.arena) : this.arena.getPlugin().getCompetitions(this.arena, map.getName());
-        this.arena.getPlugin().findJoinableCompetition(competitions, players, PlayerRole.PLAYING).whenCompleteAsync((result, e) -> {
+        // Players and parties are placed by the matchmaker at the end of the tick
+        String requestedMap = map == RANDOM_MAP_MARKER ? null : map.getName();
+        this.arena.getPlugin().getMatchmaker().queue(this.arena, requestedMap, players, PlayerRole.PLAYING).whenComplete((result, e) -> {
             if (e != null) {
                 Messages.ARENA_ERROR.send(player, e.getMessage());
                 this.arena.getPlugin().error("An error occurred while joining the arena", e);
@@ -136,56 +141,27 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
 
             Competition<?> competition = result.competition();
             if (competition != null) {
-                competition.join(players, PlayerRole.PLAYING);
-
                 for (Player toJoin : players) {
-                    Messages.ARENA_JOINED.send(toJoin, competition.getMap().getName());
-                }
-            } else {
-                List<LiveCompetitionMap> maps = this.arena.getPlugin().getMaps(this.arena);
-                if (maps.isEmpty()) {
-                    Messages.NO_MAPS_FOR_ARENA.send(player);
-                    return;
+                    if (ArenaPlayer.getArenaPlayer(toJoin) != null) {
+                        Messages.ARENA_JOINED.send(toJoin, competition.getMap().getName());
+                    }
                 }
 
-                String mapName = map.getName();
-                if (map == RANDOM_MAP_MARKER) {
-                    // Select a random map
-                    mapName = maps.get(ThreadLocalRandom.current().nextInt(maps.size())).getName();
-                }
+                return;
+            }
 
-                // Try and create a dynamic competition if possible
-                this.arena.getPlugin()
-                        .getOrCreateCompetition(this.arena, players, PlayerRole.PLAYING, mapName)
-                        .whenComplete((newResult, ex) -> {
-                            if (ex != null) {
-                                Messages.ARENA_ERROR.send(player, ex.getMessage());
-                                this.arena.getPlugin().error("An error occurred while joining the arena", ex);
-                                return;
-                            }
-
-                            if (newResult.competition() == null) {
-                                // No competition - something happened that stopped the
-                                // dynamic arena from being created. Not much we can do here,
-                                // but info will be in console in the event of an error
-                                if (newResult.result() != JoinResult.NOT_JOINABLE && newResult.result().message() != null) {
-                                    newResult.result().message().send(player);
-                                } else if (result.result() != JoinResult.NOT_JOINABLE && result.result().message() != null) {
-                                   result.result().message().send(player);
-                                } else {
-                                    Messages.ARENA_NOT_JOINABLE.send(player);
-                                }
-
-                                return;
-                            }
-
-                            for (Player toJoin : players) {
-                                newResult.competition().join(toJoin, PlayerRole.PLAYING);
-                                Messages.ARENA_JOINED.send(toJoin, newResult.competition().getMap().getName());
-                            }
-                        });
+            if (result.result() == JoinResult.CANCELLED) {
+                return;
+            }
+
+            if (this.arena.getPlugin().getMaps(this.arena).isEmpty()) {
+                Messages.NO_MAPS_FOR_ARENA.send(player);
+            } else if (result.result().message() != null) {
+                result.result().message().send(player);
+            } else {
+                Messages.ARENA_NOT_JOINABLE.send(player);
             }
-        }, Bukkit.getScheduler().getMainThreadExecutor(this.arena.getPlugin()));
+        });
     }
 
     @ArenaCommand(commands = "kick", description = "Kick a player from the arena.", permissionNode = "kick")
@@ -317,6 +293,11 @@ public class ArenaCommandExecutor extends BaseCommandExecutor {
     public void leave(Player player) {
         ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
         if (arenaPlayer == null) {
+            if (this.arena.getPlugin().getMatchmaker().dequeue(player)) {
+                Messages.ARENA_LEFT_QUEUE.send(player);
+                return;
+            }
+
             Messages.NOT_IN_ARENA.send(player);
             return;
         }
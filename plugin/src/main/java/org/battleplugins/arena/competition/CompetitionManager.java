@@ -10,43 +10,40 @@ import org.battleplugins.arena.competition.phase.phases.VictoryPhase;
 import org.battleplugins.arena.event.arena.ArenaCreateCompetitionEvent;
 import org.battleplugins.arena.event.arena.ArenaRemoveCompetitionEvent;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
-import org.bukkit.Bukkit;
+import org.battleplugins.arena.scheduler.ArenaScheduler;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Stream;
 
 public class CompetitionManager {
-    private final Map<Arena, List<Competition<?>>> competitions = new HashMap<>();
+    // How long slots reserved for callers of the API are held for them to join
+    private static final long HELD_RESERVATION_TICKS = 20 * 5;
+
+    private final CompetitionRegistry registry;
+    private final DynamicMapPool mapPool;
 
     private final BattleArena plugin;
 
     public CompetitionManager(BattleArena plugin) {
         this.plugin = plugin;
+        this.registry = new CompetitionRegistry(plugin);
+        this.mapPool = new DynamicMapPool(plugin, this, this.registry);
     }
 
     public List<Competition<?>> getCompetitions(Arena arena) {
-        List<Competition<?>> competitions = this.competitions.get(arena);
-        return competitions == null ? List.of() : List.copyOf(competitions);
+        return this.registry.getCompetitions(arena);
     }
 
     public List<Competition<?>> getCompetitions(Arena arena, String name) {
-        List<Competition<?>> competitions = this.getCompetitions(arena);
-        return competitions.stream()
-                .filter(competition -> competition.getMap().getName().equalsIgnoreCase(name))
-                .toList();
+        return this.registry.getCompetitions(arena, name);
     }
 
     public CompletableFuture<CompetitionResult> getOrCreateCompetition(Arena arena, Player player, PlayerRole role, @Nullable String name) {
@@ -54,72 +51,218 @@ public class CompetitionManager {
     }
 
     public CompletableFuture<CompetitionResult> getOrCreateCompetition(Arena arena, Collection<Player> players, PlayerRole role, @Nullable String name) {
-        // See if we can join any already open competitions
-        List<Competition<?>> openCompetitions = this.getCompetitions(arena, name);
-        CompletableFuture<CompetitionResult> joinableCompetition = this.findJoinableCompetition(openCompetitions, players, role);
-        return joinableCompetition.thenApplyAsync(result -> {
-            if (result.competition() != null) {
-                return result;
-            }
+        // See if we can join any already open competitions, or otherwise create a new one
+        return this.reserveCompetition(arena, name, players, role)
+                .thenCompose(result -> result.reservation() != null ? CompletableFuture.completedFuture(result) : this.prepareCompetition(arena, name, players, role, result.result()))
+                .thenCompose(result -> this.plugin.getArenaScheduler().supplySync(() -> this.holdReservation(result, players)));
+    }
 
-            CompetitionResult invalidResult = new CompetitionResult(null, !result.result().canJoin() ? result.result() : JoinResult.NOT_JOINABLE);
-            if (arena.getType() == CompetitionType.EVENT) {
-                // Cannot create non-requested dynamic competitions for events
-                return invalidResult;
-            }
+    /**
+     * Makes the given players join a competition in the given arena,
+     * creating a new dynamic competition if none can be joined.
+     * <p>
+     * Joining is done in stages: the players are validated, slots are
+     * reserved for them in a competition, a new map is prepared if no
+     * competition had room, and finally the players join. Only the stages
+     * which interact with the server are run on the main thread, and the
+     * reserved slots ensure that other players cannot fill the competition
+     * while a stage is in progress.
+     *
+     * @param arena the arena to join
+     * @param name the name of the map, or null for any map
+     * @param players the players to join
+     * @param role the role of the players
+     * @return a future completed once the players have joined
+     */
+    public CompletableFuture<CompetitionResult> joinCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role) {
+        ArenaScheduler scheduler = this.plugin.getArenaScheduler();
+        return scheduler.supplySync(() -> validate(players))
+                .thenCompose(valid -> {
+                    if (!valid) {
+                        return CompletableFuture.completedFuture(new ReservationResult(null, JoinResult.NOT_JOINABLE));
+                    }
 
-            List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
-            if (maps == null) {
-                // No maps, return
-                return invalidResult;
-            }
+                    return this.reserveCompetition(arena, name, players, role);
+                })
+                .thenCompose(result -> result.reservation() != null ? CompletableFuture.completedFuture(result) : this.prepareCompetition(arena, name, players, role, result.result()))
+                .thenCompose(result -> scheduler.supplySync(() -> {
+                    JoinReservation reservation = result.reservation();
+                    if (reservation == null) {
+                        return new CompetitionResult(null, result.result());
+                    }
 
-            // Ensure we have WorldEdit installed
-            if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
-                this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
-                return invalidResult;
+                    // Players may have left or joined another competition while waiting
+                    if (!validate(players)) {
+                        reservation.release();
+                        return new CompetitionResult(null, JoinResult.NOT_JOINABLE);
+                    }
+
+                    reservation.join(players, role);
+                    return new CompetitionResult(reservation.getCompetition(), JoinResult.SUCCESS);
+                }));
+    }
+
+    /**
+     * Finds a competition in the given arena which the given players can
+     * join, and reserves slots for them in it. The open competitions with
+     * the most players are tried first.
+     * <p>
+     * The returned reservation must either be released, or used to join
+     * the competition.
+     *
+     * @param arena the arena to find the competition in
+     * @param name the name of the map, or null for any map
+     * @param players the players to reserve slots for
+     * @param role the role of the players
+     * @return a future completed with the reservation result
+     */
+    public CompletableFuture<ReservationResult> reserveCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role) {
+        return this.plugin.getArenaScheduler()
+                .supplySync(() -> this.registry.getJoinOrder(arena, name).iterator())
+                .thenCompose(slots -> this.reserveNext(slots, players, role, null));
+    }
+
+    /**
+     * Creates a new dynamic competition in the given arena and reserves
+     * slots for the given players in it.
+     *
+     * @param arena the arena to create the competition in
+     * @param name the name of the map, or null for a random map
+     * @param players the players to reserve slots for
+     * @param role the role of the players
+     * @param lastResult the result of the last competition that was tried
+     * @return a future completed with the reservation result
+     */
+    public CompletableFuture<ReservationResult> prepareCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role, JoinResult lastResult) {
+        JoinResult invalidResult = !lastResult.canJoin() ? lastResult : JoinResult.NOT_JOINABLE;
+
+        // Worlds can only be created on the main thread
+        ArenaScheduler scheduler = this.plugin.getArenaScheduler();
+        return scheduler.supplySync(() -> this.createDynamicCompetition(arena, name)).thenCompose(competition -> {
+            if (competition == null) {
+                return CompletableFuture.completedFuture(new ReservationResult(null, invalidResult));
             }
 
-            // Check if we have exceeded the maximum number of dynamic maps
-            List<Competition<?>> allCompetitions = this.getCompetitions(arena);
-            long dynamicMaps = allCompetitions.stream()
-                    .map(Competition::getMap)
-                    .filter(map -> map.getType() == MapType.DYNAMIC)
-                    .count();
+            return scheduler.thenComposeSync(competition.canJoin(players, role), joinResult -> {
+                JoinReservation reservation = joinResult == JoinResult.SUCCESS ? reserve(competition, players, role) : null;
+                return CompletableFuture.completedFuture(new ReservationResult(reservation, reservation == null ? invalidResult : JoinResult.SUCCESS));
+            });
+        });
+    }
 
-            if (dynamicMaps >= this.plugin.getMainConfig().getMaxDynamicMaps() && this.plugin.getMainConfig().getMaxDynamicMaps() != -1) {
-                this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
-                return invalidResult;
+    /**
+     * Creates a new dynamic competition in the given arena, if the
+     * arena allows for it.
+     * <p>
+     * Maps which have been prepared ahead of time or recycled from
+     * finished competitions are used first, and a new map is only
+     * created if none of the requested maps are idle.
+     *
+     * @param arena the arena to create the competition in
+     * @param name the name of the map, or null for a random map
+     * @return the created competition, or null if a competition
+     *         could not be created
+     */
+    @Nullable
+    public Competition<?> createDynamicCompetition(Arena arena, @Nullable String name) {
+        if (arena.getType() == CompetitionType.EVENT) {
+            // Cannot create non-requested dynamic competitions for events
+            return null;
+        }
+
+        List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
+        if (maps == null) {
+            // No maps, return
+            return null;
+        }
+
+        if (name == null) {
+            // Shuffle results if map name is not requested
+            maps = new ArrayList<>(maps);
+            Collections.shuffle(maps);
+        }
+
+        // Hand out a map which has already been prepared if possible
+        for (LiveCompetitionMap map : maps) {
+            if (map.getType() != MapType.DYNAMIC || (name != null && !map.getName().equalsIgnoreCase(name))) {
+                continue;
             }
 
-            // Create a new competition if possible
+            LiveCompetitionMap dynamicMap = this.mapPool.take(arena, map.getName());
+            if (dynamicMap != null) {
+                Competition<?> competition = dynamicMap.createCompetition(arena);
+                this.addCompetition(arena, competition);
+                return competition;
+            }
+        }
+
+        // Ensure we have WorldEdit installed
+        if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
+            this.plugin.error("WorldEdit is required to create dynamic competitions! Not proceeding with creating a new dynamic competition.");
+            return null;
+        }
 
-            if (name == null) {
-                // Shuffle results if map name is not requested
-                maps = new ArrayList<>(maps);
-                Collections.shuffle(maps);
+        // Check if we have exceeded the maximum number of dynamic maps, releasing
+        // an idle map of another map in the pool to make room if needed
+        int maxDynamicMaps = this.plugin.getMainConfig().getMaxDynamicMaps();
+        int dynamicMaps = this.registry.getDynamicCompetitionCount(arena) + this.mapPool.getIdleCount(arena);
+        if (maxDynamicMaps != -1 && dynamicMaps >= maxDynamicMaps && !this.mapPool.evict(arena)) {
+            this.plugin.warn("Exceeded maximum number of dynamic maps for arena {}! Not proceeding with creating a new dynamic competition.", arena.getName());
+            return null;
+        }
+
+        // Create a new competition if possible
+        for (LiveCompetitionMap map : maps) {
+            if (map.getType() != MapType.DYNAMIC) {
+                continue;
             }
 
-            for (LiveCompetitionMap map : maps) {
-                if (map.getType() != MapType.DYNAMIC) {
+            if ((name == null || map.getName().equalsIgnoreCase(name))) {
+                if (!this.mapPool.canCreate(arena, map)) {
+                    this.plugin.debug("Exceeded maximum number of dynamic maps for map {} in arena {}.", map.getName(), arena.getName());
                     continue;
                 }
 
-                if ((name == null || map.getName().equalsIgnoreCase(name))) {
-                    Competition<?> competition = map.createDynamicCompetition(arena);
-                    if (competition == null) {
-                        this.plugin.warn("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName());
-                        continue;
-                    }
-
-                    this.addCompetition(arena, competition);
-                    return new CompetitionResult(competition, JoinResult.SUCCESS);
+                Competition<?> competition = map.createDynamicCompetition(arena);
+                if (competition == null) {
+                    this.plugin.warn("Failed to create dynamic competition for map {} in arena {}!", map.getName(), arena.getName());
+                    continue;
                 }
+
+                this.addCompetition(arena, competition);
+                return competition;
             }
+        }
+
+        // No dynamic map found to create a new competition from
+        return null;
+    }
+
+    /**
+     * Starts preparing dynamic maps ahead of time, according
+     * to the configured dynamic map pool options.
+     */
+    public void startDynamicMapPool() {
+        this.mapPool.start();
+    }
+
+    /**
+     * Removes all the dynamic maps of the given map which have
+     * been prepared ahead of time.
+     *
+     * @param arena the arena of the map
+     * @param map the map to remove the prepared maps of
+     */
+    public void clearDynamicMapPool(Arena arena, LiveCompetitionMap map) {
+        this.mapPool.clear(arena, map.getName());
+    }
 
-            // No open competitions found or unable to create a new one
-            return invalidResult;
-        }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    /**
+     * Stops preparing dynamic maps ahead of time, and removes
+     * all the dynamic maps which have been prepared.
+     */
+    public void clearDynamicMapPool() {
+        this.mapPool.clear();
     }
 
     public CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role) {
@@ -130,46 +273,130 @@ public class CompetitionManager {
         return this.findJoinableCompetition(competitions, players, role, null);
     }
 
-    private CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Player player, PlayerRole role, @Nullable JoinResult lastResult) {
-        return this.findJoinableCompetition(competitions, List.of(player), role, lastResult);
+    /**
+     * Finds a joinable competition in the given arena, trying the open
+     * competitions with the most players first.
+     * <p>
+     * Slots are reserved for the players in the returned competition
+     * until they join it, or for a few seconds if they do not.
+     *
+     * @param arena the arena to find the competition in
+     * @param name the name of the map, or null for any map
+     * @param players the players to find the competition for
+     * @param role the role of the players
+     * @return the competition result
+     */
+    public CompletableFuture<CompetitionResult> findJoinableCompetition(Arena arena, @Nullable String name, Collection<Player> players, PlayerRole role) {
+        return this.reserveCompetition(arena, name, players, role)
+                .thenCompose(result -> this.plugin.getArenaScheduler().supplySync(() -> this.holdReservation(result, players)));
+    }
+
+    private CompetitionResult holdReservation(ReservationResult result, Collection<Player> players) {
+        JoinReservation reservation = result.reservation();
+        if (reservation == null) {
+            return new CompetitionResult(null, result.result());
+        }
+
+        // The caller joins the competition itself, so keep the slots
+        // reserved until the players join rather than freeing them now
+        reservation.hold(players, HELD_RESERVATION_TICKS);
+        return new CompetitionResult(reservation.getCompetition(), JoinResult.SUCCESS);
     }
 
     private CompletableFuture<CompetitionResult> findJoinableCompetition(List<Competition<?>> competitions, Collection<Player> players, PlayerRole role, @Nullable JoinResult lastResult) {
-        if (competitions.isEmpty()) {
+        List<Competition<?>> candidates = new ArrayList<>(competitions);
+        if (this.plugin.getMainConfig().isRandomizedArenaJoin()) {
+            Collections.shuffle(candidates);
+        }
+
+        // Try the competitions with the most number of players first
+        candidates.sort(Comparator.comparingInt((Competition<?> competition) -> competition.getAlivePlayerCount()).reversed());
+        return this.findNext(candidates.iterator(), players, role, lastResult);
+    }
+
+    private CompletableFuture<CompetitionResult> findNext(Iterator<Competition<?>> competitions, Collection<Player> players, PlayerRole role, @Nullable JoinResult lastResult) {
+        if (!competitions.hasNext()) {
             return CompletableFuture.completedFuture(new CompetitionResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
         }
 
-        if (this.plugin.getMainConfig().isRandomizedArenaJoin()) {
-            competitions = new ArrayList<>(competitions);
-            Collections.shuffle(competitions);
+        Competition<?> competition = competitions.next();
+        return this.plugin.getArenaScheduler().thenComposeSync(competition.canJoin(players, role), joinResult -> {
+            if (joinResult == JoinResult.SUCCESS) {
+                return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
+            }
+
+            return this.findNext(competitions, players, role, joinResult);
+        });
+    }
+
+    private CompletableFuture<ReservationResult> reserveNext(Iterator<CompetitionRegistry.Slot> slots, Collection<Player> players, PlayerRole role, @Nullable JoinResult lastResult) {
+        if (!slots.hasNext()) {
+            return CompletableFuture.completedFuture(new ReservationResult(null, lastResult == null ? JoinResult.NOT_JOINABLE : lastResult));
         }
 
-        // Select the competition with the most number of players
-        Competition<?> competition = competitions.stream()
-                .max(Comparator.comparingInt(Competition::getAlivePlayerCount))
-                .orElseThrow(); // Should never throw but just in case
+        CompetitionRegistry.Slot slot = slots.next();
+        Competition<?> competition = slot.competition();
+        return this.plugin.getArenaScheduler().thenComposeSync(competition.canJoin(players, role), joinResult -> {
+            if (joinResult == JoinResult.SUCCESS) {
+                JoinReservation reservation = reserve(competition, players, role);
+                if (reservation != null) {
+                    return CompletableFuture.completedFuture(new ReservationResult(reservation, JoinResult.SUCCESS));
+                }
+
+                // Filled up by other players while checking if the players can join
+                joinResult = JoinResult.ARENA_FULL;
+            }
+
+            // Every remaining competition is either full or cannot be joined in its
+            // current phase, so there is no need to check them for players
+            if (role == PlayerRole.PLAYING && !slot.joinable()) {
+                return CompletableFuture.completedFuture(new ReservationResult(null, joinResult));
+            }
 
-        CompletableFuture<JoinResult> result = competition.canJoin(players, role);
-        JoinResult joinResult = result.join();
-        if (joinResult == JoinResult.SUCCESS) {
-            return CompletableFuture.completedFuture(new CompetitionResult(competition, JoinResult.SUCCESS));
-        } else {
-            List<Competition<?>> remainingCompetitions = new ArrayList<>(competitions);
-            remainingCompetitions.remove(competition);
+            return this.reserveNext(slots, players, role, joinResult);
+        });
+    }
 
-            return this.findJoinableCompetition(remainingCompetitions, players, role, joinResult);
+    /**
+     * Updates the position of the given competition in the join order.
+     * This is called whenever a player joins or leaves the competition,
+     * or its phase changes.
+     *
+     * @param competition the competition to update
+     */
+    public void updateCompetition(Competition<?> competition) {
+        this.registry.update(competition);
+    }
+
+    @Nullable
+    private static JoinReservation reserve(Competition<?> competition, Collection<Player> players, PlayerRole role) {
+        // Spectators do not take up any slots
+        int slots = role == PlayerRole.PLAYING ? players.size() : 0;
+        if (competition instanceof LiveCompetition<?> liveCompetition) {
+            return liveCompetition.reserve(slots);
+        }
+
+        return new JoinReservation(competition, 0);
+    }
+
+    private static boolean validate(Collection<Player> players) {
+        for (Player player : players) {
+            if (!player.isOnline() || ArenaPlayer.getArenaPlayer(player) != null) {
+                return false;
+            }
         }
+
+        return !players.isEmpty();
     }
 
     public void addCompetition(Arena arena, Competition<?> competition) {
-        this.competitions.computeIfAbsent(arena, k -> new ArrayList<>()).add(competition);
+        this.registry.add(arena, competition);
         this.plugin.getServer().getPluginManager().callEvent(new ArenaCreateCompetitionEvent(arena, competition));
     }
 
     @SuppressWarnings("unchecked")
     public void removeCompetition(Arena arena, Competition<?> competition) {
-        List<Competition<?>> competitions = this.competitions.get(arena);
-        if (competitions == null) {
+        if (this.registry.getCompetitions(arena).isEmpty()) {
             return;
         }
 
@@ -184,7 +411,7 @@ public class CompetitionManager {
             }
         }
 
-        boolean removed = competitions.remove(competition);
+        boolean removed = this.registry.remove(arena, competition);
         if (removed && competition instanceof LiveCompetition<?> liveCompetition) {
             // De-reference any remaining resources
             liveCompetition.getVictoryManager().end(true);
@@ -212,42 +439,37 @@ public class CompetitionManager {
             liveCompetition.destroy();
         }
 
-        competitions.remove(competition);
+        // Cancel any timers that are still bound to the competition
+        int cancelledTasks = this.plugin.getArenaScheduler().cancelTasks(competition);
+        if (cancelledTasks > 0) {
+            this.plugin.debug("Cancelled {} remaining scheduled tasks for competition in arena {}.", cancelledTasks, arena.getName());
+        }
 
         ArenaRemoveCompetitionEvent event = new ArenaRemoveCompetitionEvent(arena, competition);
         this.plugin.getServer().getPluginManager().callEvent(event);
 
         if (competition.getMap().getType() == MapType.DYNAMIC && competition.getMap() instanceof LiveCompetitionMap map) {
-            this.clearDynamicMap(map);
+            // Keep the world for the next competition on this map if possible
+            if (!this.mapPool.recycle(arena, map)) {
+                this.clearDynamicMap(map);
+            }
         }
     }
 
     public void completeAllActiveCompetitions() {
-        for (Map.Entry<Arena, List<Competition<?>>> entry : Map.copyOf(this.competitions).entrySet()) {
-            for (Competition<?> competition : List.copyOf(entry.getValue())) {
-                this.removeCompetition(entry.getKey(), competition);
+        for (Arena arena : this.registry.getArenas()) {
+            for (Competition<?> competition : this.registry.getCompetitions(arena)) {
+                this.removeCompetition(arena, competition);
             }
         }
     }
 
-    private void clearDynamicMap(LiveCompetitionMap map) {
+    void clearDynamicMap(LiveCompetitionMap map) {
         if (map.getType() != MapType.DYNAMIC) {
             return;
         }
 
-        Bukkit.unloadWorld(map.getWorld(), false);
-        if (!map.getWorld().getWorldFolder().exists()) {
-            return;
-        }
-
-        try {
-            try (Stream<Path> pathsToDelete = Files.walk(map.getWorld().getWorldFolder().toPath())) {
-                for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
-                    Files.deleteIfExists(path);
-                }
-            }
-        } catch (IOException e) {
-            this.plugin.error("Failed to delete dynamic map {}", map.getName(), e);
-        }
+        // The world folder is deleted in the background
+        this.plugin.getWorldReaper().reap(map.getWorld());
     }
 }
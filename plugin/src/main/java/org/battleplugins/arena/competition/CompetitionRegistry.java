@@ -0,0 +1,264 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.map.MapType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexes the competitions of each {@link Arena} by map name, and keeps
+ * them ordered by how suitable they are for players to join.
+ * <p>
+ * The lists returned by this registry are immutable snapshots which are
+ * only rebuilt when a competition is added or removed, so callers never
+ * need to copy them. The join order of a competition is updated whenever
+ * a player joins or leaves it, or when its phase changes.
+ */
+class CompetitionRegistry {
+    private static final Comparator<Slot> JOIN_ORDER = Comparator.comparing((Slot slot) -> !slot.joinable())
+            .thenComparing(Comparator.comparingInt(Slot::players).reversed())
+            .thenComparingLong(Slot::tiebreak)
+            .thenComparingLong(Slot::sequence);
+
+    private final BattleArena plugin;
+
+    private final Map<Arena, ArenaCompetitions> arenas = new HashMap<>();
+    private final Map<Competition<?>, Slot> slots = new HashMap<>();
+
+    private long nextSequence;
+
+    CompetitionRegistry(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    List<Arena> getArenas() {
+        return List.copyOf(this.arenas.keySet());
+    }
+
+    List<Competition<?>> getCompetitions(Arena arena) {
+        ArenaCompetitions competitions = this.arenas.get(arena);
+        return competitions == null ? List.of() : competitions.all;
+    }
+
+    List<Competition<?>> getCompetitions(Arena arena, String name) {
+        ArenaCompetitions competitions = this.arenas.get(arena);
+        return competitions == null ? List.of() : competitions.byMap.getOrDefault(key(name), List.of());
+    }
+
+    int getDynamicCompetitionCount(Arena arena) {
+        ArenaCompetitions competitions = this.arenas.get(arena);
+        return competitions == null ? 0 : competitions.dynamicCount;
+    }
+
+    /**
+     * Returns the competitions of the given arena in the order players
+     * should attempt to join them: competitions that can be joined come
+     * first, followed by the competitions with the most players.
+     *
+     * @param arena the arena to get the competitions for
+     * @param name the name of the map, or null for all maps
+     * @return the competitions in join order
+     */
+    Iterable<Slot> getJoinOrder(Arena arena, @Nullable String name) {
+        ArenaCompetitions competitions = this.arenas.get(arena);
+        if (competitions == null) {
+            return List.of();
+        }
+
+        NavigableSet<Slot> joinOrder = name == null ? competitions.joinOrder : competitions.joinOrderByMap.get(key(name));
+        if (joinOrder == null) {
+            return List.of();
+        }
+
+        return () -> new JoinOrderIterator(joinOrder);
+    }
+
+    void add(Arena arena, Competition<?> competition) {
+        if (this.slots.containsKey(competition)) {
+            return;
+        }
+
+        ArenaCompetitions competitions = this.arenas.computeIfAbsent(arena, e -> new ArenaCompetitions());
+
+        List<Competition<?>> all = new ArrayList<>(competitions.all);
+        all.add(competition);
+        competitions.all = List.copyOf(all);
+
+        String key = key(competition.getMap().getName());
+        List<Competition<?>> byMap = new ArrayList<>(competitions.byMap.getOrDefault(key, List.of()));
+        byMap.add(competition);
+        competitions.byMap.put(key, List.copyOf(byMap));
+
+        if (competition.getMap().getType() == MapType.DYNAMIC) {
+            competitions.dynamicCount++;
+        }
+
+        this.insert(competitions, this.createSlot(arena, competition, this.nextSequence++));
+    }
+
+    boolean remove(Arena arena, Competition<?> competition) {
+        Slot slot = this.slots.get(competition);
+        if (slot == null || slot.arena() != arena) {
+            return false;
+        }
+
+        ArenaCompetitions competitions = this.arenas.get(arena);
+        this.erase(competitions, slot);
+
+        List<Competition<?>> all = new ArrayList<>(competitions.all);
+        all.remove(competition);
+        competitions.all = List.copyOf(all);
+
+        String key = key(competition.getMap().getName());
+        List<Competition<?>> byMap = new ArrayList<>(competitions.byMap.getOrDefault(key, List.of()));
+        byMap.remove(competition);
+        if (byMap.isEmpty()) {
+            competitions.byMap.remove(key);
+        } else {
+            competitions.byMap.put(key, List.copyOf(byMap));
+        }
+
+        if (competition.getMap().getType() == MapType.DYNAMIC) {
+            competitions.dynamicCount--;
+        }
+
+        if (competitions.all.isEmpty()) {
+            this.arenas.remove(arena);
+        }
+
+        return true;
+    }
+
+    /**
+     * Moves the given competition to its new position in the join
+     * order, after its players or phase have changed.
+     *
+     * @param competition the competition to update
+     */
+    void update(Competition<?> competition) {
+        Slot slot = this.slots.get(competition);
+        if (slot == null) {
+            // Not yet registered, or already removed
+            return;
+        }
+
+        Slot updated = this.createSlot(slot.arena(), competition, slot.sequence());
+        if (updated.joinable() == slot.joinable() && updated.players() == slot.players() && !this.isRandomized()) {
+            return;
+        }
+
+        ArenaCompetitions competitions = this.arenas.get(slot.arena());
+        this.erase(competitions, slot);
+        this.insert(competitions, updated);
+    }
+
+    private void insert(ArenaCompetitions competitions, Slot slot) {
+        this.slots.put(slot.competition(), slot);
+        competitions.joinOrder.add(slot);
+        competitions.joinOrderByMap.computeIfAbsent(key(slot.competition().getMap().getName()), e -> new TreeSet<>(JOIN_ORDER)).add(slot);
+    }
+
+    private void erase(ArenaCompetitions competitions, Slot slot) {
+        this.slots.remove(slot.competition());
+        competitions.joinOrder.remove(slot);
+
+        String key = key(slot.competition().getMap().getName());
+        NavigableSet<Slot> joinOrder = competitions.joinOrderByMap.get(key);
+        if (joinOrder != null && joinOrder.remove(slot) && joinOrder.isEmpty()) {
+            competitions.joinOrderByMap.remove(key);
+        }
+    }
+
+    private Slot createSlot(Arena arena, Competition<?> competition, long sequence) {
+        // Competitions with the same number of players are tried in a random
+        // order if randomized joining is enabled, or the order they were added
+        long tiebreak = this.isRandomized() ? ThreadLocalRandom.current().nextLong() : 0;
+        int players = occupiedSlots(competition);
+        return new Slot(arena, competition, players < competition.getMaxPlayers() && isPhaseJoinable(competition), players, tiebreak, sequence);
+    }
+
+    private boolean isRandomized() {
+        return this.plugin.getMainConfig() != null && this.plugin.getMainConfig().isRandomizedArenaJoin();
+    }
+
+    // Reserved slots are counted as players, as they are about to join
+    private static int occupiedSlots(Competition<?> competition) {
+        int players = competition.getAlivePlayerCount();
+        if (competition instanceof LiveCompetition<?> liveCompetition) {
+            players += liveCompetition.getReservedSlots();
+        }
+
+        return players;
+    }
+
+    private static boolean isPhaseJoinable(Competition<?> competition) {
+        return !(competition instanceof LiveCompetition<?> liveCompetition) || liveCompetition.getPhaseManager().getCurrentPhase().canJoin();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A competition at its position in the join order.
+     *
+     * @param arena the arena of the competition
+     * @param competition the competition
+     * @param joinable whether players can join the competition, not
+     *                 taking into account team limits or join events
+     * @param players the number of players in the competition, including
+     *                reserved slots
+     * @param tiebreak the order of competitions with the same number of players
+     * @param sequence the order the competition was added in
+     */
+    record Slot(Arena arena, Competition<?> competition, boolean joinable, int players, long tiebreak, long sequence) {
+    }
+
+    private static class ArenaCompetitions {
+        private List<Competition<?>> all = List.of();
+        private final Map<String, List<Competition<?>>> byMap = new HashMap<>();
+        private final NavigableSet<Slot> joinOrder = new TreeSet<>(JOIN_ORDER);
+        private final Map<String, NavigableSet<Slot>> joinOrderByMap = new HashMap<>();
+        private int dynamicCount;
+    }
+
+    // Walks the join order by position rather than with the iterator of the
+    // set, so competitions can change while they are being iterated over
+    private static class JoinOrderIterator implements Iterator<Slot> {
+        private final NavigableSet<Slot> joinOrder;
+        private Slot next;
+
+        JoinOrderIterator(NavigableSet<Slot> joinOrder) {
+            this.joinOrder = joinOrder;
+            this.next = joinOrder.isEmpty() ? null : joinOrder.first();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Slot next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Slot slot = this.next;
+            this.next = this.joinOrder.higher(slot);
+            return slot;
+        }
+    }
+}
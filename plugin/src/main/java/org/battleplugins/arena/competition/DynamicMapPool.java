@@ -0,0 +1,435 @@
+package org.battleplugins.arena.competition;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.BattleArenaConfig;
+import org.battleplugins.arena.competition.map.DynamicWorldReaper;
+import org.battleplugins.arena.competition.map.LiveCompetitionMap;
+import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.competition.map.options.DynamicMapPoolOptions;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a pool of dynamic maps which have been prepared ahead of
+ * time, so a new dynamic competition can be handed out without
+ * creating and copying a world while players are waiting for it.
+ * <p>
+ * The pool of each dynamic map is refilled up to the configured
+ * number of idle maps. At most one map is prepared per tick, and only
+ * if the previous tick left enough spare time for it. Preparing a map
+ * is not split across ticks, so this only moves the cost of a large
+ * map to a tick which is likely to absorb it, rather than removing it.
+ * Idle maps count towards the maximum number of dynamic maps of an
+ * arena, but are released again if a map has to be created on demand.
+ * <p>
+ * If world recycling is enabled, the maps of finished dynamic
+ * competitions are returned to the pool rather than deleted. Their
+ * world is kept loaded, and the map region is reset before the map
+ * is handed out again, so a new world only has to be created when
+ * the pool grows.
+ * <p>
+ * Maps which are cloned at the region file level are copied off the
+ * main thread. Once copied, their worlds are created one per tick in
+ * spare time, the same as any other map which is prepared.
+ */
+class DynamicMapPool {
+    // Maps are only prepared if at least half of the last tick was spare
+    private static final long MIN_SPARE_TIME = TimeUnit.MILLISECONDS.toNanos(25);
+    private static final long RETRY_DELAY = 20 * 60;
+
+    private final BattleArena plugin;
+    private final CompetitionManager competitionManager;
+    private final CompetitionRegistry registry;
+
+    private final Map<Arena, Map<String, IdleMaps>> idleMaps = new HashMap<>();
+
+    private long retryTick;
+
+    DynamicMapPool(BattleArena plugin, CompetitionManager competitionManager, CompetitionRegistry registry) {
+        this.plugin = plugin;
+        this.competitionManager = competitionManager;
+        this.registry = registry;
+    }
+
+    /**
+     * Starts refilling the pool in the spare time of each tick.
+     */
+    void start() {
+        this.plugin.getArenaScheduler().cancelTasks(this);
+        this.plugin.getArenaScheduler().runTaskTimer(this, this::refill, 1, 1);
+    }
+
+    /**
+     * Takes an idle map of the given name from the pool. Maps which
+     * are ready are preferred, otherwise the world of a cloned map is
+     * created or a recycled map is reset right away.
+     *
+     * @param arena the arena of the map
+     * @param name the name of the map
+     * @return the idle map, or null if the pool has no idle maps
+     */
+    @Nullable
+    LiveCompetitionMap take(Arena arena, String name) {
+        IdleMaps idle = this.getIdleMaps(arena, name);
+        if (idle == null) {
+            return null;
+        }
+
+        LiveCompetitionMap map = idle.ready.pollFirst();
+        if (map != null) {
+            return map;
+        }
+
+        String worldName;
+        while ((worldName = idle.cloned.pollFirst()) != null) {
+            LiveCompetitionMap clonedMap = this.createCloned(arena, idle, worldName);
+            if (clonedMap != null) {
+                return clonedMap;
+            }
+        }
+
+        while ((map = idle.recycled.pollFirst()) != null) {
+            LiveCompetitionMap resetMap = this.reset(arena, map);
+            if (resetMap != null) {
+                return resetMap;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the map of a finished dynamic competition to the pool,
+     * if world recycling is enabled and the pool of the map is not full.
+     *
+     * @param arena the arena of the map
+     * @param map the map of the finished competition
+     * @return whether the map was returned to the pool
+     */
+    boolean recycle(Arena arena, LiveCompetitionMap map) {
+        DynamicMapPoolOptions options = this.getOptions();
+        if (!options.isRecycleWorlds() || this.getIdleCount(arena, map.getName()) >= options.getMaxIdle()) {
+            return false;
+        }
+
+        // The map may have been removed while the competition was running
+        if (this.plugin.getMap(arena, map.getName()) == null) {
+            return false;
+        }
+
+        this.idleMaps.computeIfAbsent(arena, e -> new HashMap<>())
+                .computeIfAbsent(key(map.getName()), e -> new IdleMaps(map.getName()))
+                .recycled.addLast(map);
+
+        this.plugin.debug("Recycled dynamic map {} in arena {}.", map.getName(), arena.getName());
+        return true;
+    }
+
+    int getIdleCount(Arena arena) {
+        Map<String, IdleMaps> maps = this.idleMaps.get(arena);
+        if (maps == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (IdleMaps idle : maps.values()) {
+            count += idle.size();
+        }
+
+        return count;
+    }
+
+    int getIdleCount(Arena arena, String name) {
+        IdleMaps idle = this.getIdleMaps(arena, name);
+        return idle == null ? 0 : idle.size();
+    }
+
+    /**
+     * Returns whether another copy of the given map can be created
+     * without exceeding the maximum number of maps for it.
+     *
+     * @param arena the arena of the map
+     * @param map the map to check
+     * @return whether another copy of the map can be created
+     */
+    boolean canCreate(Arena arena, LiveCompetitionMap map) {
+        int maxTotal = this.getOptions().getMaxTotal();
+        if (maxTotal == -1) {
+            return true;
+        }
+
+        int total = this.getIdleCount(arena, map.getName());
+        for (Competition<?> competition : this.registry.getCompetitions(arena, map.getName())) {
+            if (competition.getMap().getType() == MapType.DYNAMIC) {
+                total++;
+            }
+        }
+
+        return total < maxTotal;
+    }
+
+    /**
+     * Removes one idle map of the given arena from the pool, to make
+     * room for a map which is needed right away.
+     *
+     * @param arena the arena to remove the idle map from
+     * @return whether an idle map was removed
+     */
+    boolean evict(Arena arena) {
+        Map<String, IdleMaps> maps = this.idleMaps.get(arena);
+        if (maps == null) {
+            return false;
+        }
+
+        for (IdleMaps idle : maps.values()) {
+            // Prefer maps whose world has not been created yet
+            String worldName = idle.cloned.pollLast();
+            if (worldName != null) {
+                this.plugin.getWorldReaper().reap(worldName);
+                return true;
+            }
+
+            // Then maps which would still have to be reset
+            LiveCompetitionMap map = idle.recycled.isEmpty() ? idle.ready.pollLast() : idle.recycled.pollLast();
+            if (map != null) {
+                this.competitionManager.clearDynamicMap(map);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes all idle maps of the given name from the pool.
+     *
+     * @param arena the arena of the map
+     * @param name the name of the map
+     */
+    void clear(Arena arena, String name) {
+        Map<String, IdleMaps> maps = this.idleMaps.get(arena);
+        if (maps == null) {
+            return;
+        }
+
+        IdleMaps idle = maps.remove(key(name));
+        if (idle != null) {
+            idle.clear(this.competitionManager, this.plugin.getWorldReaper());
+        }
+    }
+
+    /**
+     * Stops refilling the pool and removes all idle maps.
+     */
+    void clear() {
+        this.plugin.getArenaScheduler().cancelTasks(this);
+
+        for (Map<String, IdleMaps> maps : this.idleMaps.values()) {
+            for (IdleMaps idle : maps.values()) {
+                idle.clear(this.competitionManager, this.plugin.getWorldReaper());
+            }
+        }
+
+        this.idleMaps.clear();
+        this.retryTick = 0;
+    }
+
+    private void refill() {
+        BattleArenaConfig config = this.plugin.getMainConfig();
+        if (config == null || this.plugin.getArenaScheduler().getLastTickTimeRemaining() < MIN_SPARE_TIME) {
+            return;
+        }
+
+        // Resetting a recycled map is cheaper than creating a new one, so
+        // these are handled first
+        for (Map.Entry<Arena, Map<String, IdleMaps>> entry : this.idleMaps.entrySet()) {
+            for (IdleMaps idle : entry.getValue().values()) {
+                LiveCompetitionMap map = idle.recycled.pollFirst();
+                if (map == null) {
+                    continue;
+                }
+
+                LiveCompetitionMap resetMap = this.reset(entry.getKey(), map);
+                if (resetMap != null) {
+                    idle.ready.addLast(resetMap);
+                }
+
+                return;
+            }
+        }
+
+        // Maps cloned by region file only need their world to be created
+        for (Map.Entry<Arena, Map<String, IdleMaps>> entry : this.idleMaps.entrySet()) {
+            for (IdleMaps idle : entry.getValue().values()) {
+                String worldName = idle.cloned.pollFirst();
+                if (worldName == null) {
+                    continue;
+                }
+
+                LiveCompetitionMap dynamicMap = this.createCloned(entry.getKey(), idle, worldName);
+                if (dynamicMap != null) {
+                    idle.ready.addLast(dynamicMap);
+                    this.plugin.debug("Prepared dynamic map {} in arena {} ahead of time.", idle.name, entry.getKey().getName());
+                }
+
+                return;
+            }
+        }
+
+        DynamicMapPoolOptions options = config.getDynamicMapPool();
+        int target = Math.min(options.getMinIdle(), options.getMaxIdle());
+        if (target <= 0 || this.plugin.getArenaScheduler().getCurrentTick() < this.retryTick) {
+            return;
+        }
+
+        if (this.plugin.getServer().getPluginManager().getPlugin("WorldEdit") == null) {
+            return;
+        }
+
+        for (Arena arena : this.plugin.getArenas()) {
+            if (arena.getType() == CompetitionType.EVENT) {
+                // Dynamic competitions are only created for events when requested
+                continue;
+            }
+
+            List<LiveCompetitionMap> maps = this.plugin.getMaps(arena);
+            for (LiveCompetitionMap map : maps) {
+                if (map.getType() != MapType.DYNAMIC || this.getIdleCount(arena, map.getName()) >= target) {
+                    continue;
+                }
+
+                if (!this.hasCapacity(arena, config) || !this.canCreate(arena, map)) {
+                    continue;
+                }
+
+                // Only one map is prepared per tick to spread out the cost
+                this.prepare(arena, map);
+                return;
+            }
+        }
+    }
+
+    private void prepare(Arena arena, LiveCompetitionMap map) {
+        IdleMaps idle = this.idleMaps.computeIfAbsent(arena, e -> new HashMap<>())
+                .computeIfAbsent(key(map.getName()), e -> new IdleMaps(map.getName()));
+
+        CompletableFuture<String> clone = map.cloneDynamicWorld();
+        if (clone == null) {
+            LiveCompetitionMap dynamicMap = map.createDynamicMap(arena);
+            if (dynamicMap == null) {
+                this.plugin.warn("Failed to prepare dynamic map {} in arena {}! Retrying in {} ticks.", map.getName(), arena.getName(), RETRY_DELAY);
+                this.retryTick = this.plugin.getArenaScheduler().getCurrentTick() + RETRY_DELAY;
+                return;
+            }
+
+            idle.ready.addLast(dynamicMap);
+            this.plugin.debug("Prepared dynamic map {} in arena {} ahead of time.", map.getName(), arena.getName());
+            return;
+        }
+
+        // The map is copied off the main thread, and counts towards the
+        // pool while it is. Its world is created later on in spare time.
+        idle.preparing++;
+        clone.whenComplete((worldName, e) -> {
+            idle.preparing--;
+            if (e != null) {
+                this.plugin.error("Failed to clone dynamic map {} in arena {}! Retrying in {} ticks.", map.getName(), arena.getName(), RETRY_DELAY, e);
+                this.retryTick = this.plugin.getArenaScheduler().getCurrentTick() + RETRY_DELAY;
+                return;
+            }
+
+            if (worldName == null) {
+                // The map is copied with WorldEdit from now on
+                return;
+            }
+
+            // The pool may have been cleared while the map was being cloned
+            if (this.getIdleMaps(arena, map.getName()) != idle) {
+                this.plugin.getWorldReaper().reap(worldName);
+                return;
+            }
+
+            idle.cloned.addLast(worldName);
+        });
+    }
+
+    @Nullable
+    private LiveCompetitionMap createCloned(Arena arena, IdleMaps idle, String worldName) {
+        LiveCompetitionMap map = this.plugin.getMap(arena, idle.name);
+        LiveCompetitionMap dynamicMap = map == null ? null : map.createClonedDynamicMap(arena, worldName);
+        if (dynamicMap == null) {
+            if (map != null) {
+                this.plugin.warn("Failed to create the world of cloned dynamic map {} in arena {}!", idle.name, arena.getName());
+            }
+
+            this.plugin.getWorldReaper().reap(worldName);
+        }
+
+        return dynamicMap;
+    }
+
+    @Nullable
+    private LiveCompetitionMap reset(Arena arena, LiveCompetitionMap map) {
+        LiveCompetitionMap sourceMap = this.plugin.getMap(arena, map.getName());
+        LiveCompetitionMap resetMap = sourceMap == null ? null : sourceMap.resetDynamicMap(arena, map);
+        if (resetMap == null) {
+            // The map was removed or changed, so the world cannot be reused
+            this.plugin.debug("Could not reset recycled dynamic map {} in arena {}.", map.getName(), arena.getName());
+            this.competitionManager.clearDynamicMap(map);
+        }
+
+        return resetMap;
+    }
+
+    @Nullable
+    private IdleMaps getIdleMaps(Arena arena, String name) {
+        Map<String, IdleMaps> maps = this.idleMaps.get(arena);
+        return maps == null ? null : maps.get(key(name));
+    }
+
+    private boolean hasCapacity(Arena arena, BattleArenaConfig config) {
+        int maxDynamicMaps = config.getMaxDynamicMaps();
+        return maxDynamicMaps == -1 || this.registry.getDynamicCompetitionCount(arena) + this.getIdleCount(arena) < maxDynamicMaps;
+    }
+
+    private DynamicMapPoolOptions getOptions() {
+        BattleArenaConfig config = this.plugin.getMainConfig();
+        return config == null ? new DynamicMapPoolOptions() : config.getDynamicMapPool();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static class IdleMaps {
+        private final String name;
+        private final Deque<LiveCompetitionMap> ready = new ArrayDeque<>();
+        private final Deque<LiveCompetitionMap> recycled = new ArrayDeque<>();
+        // Names of cloned worlds which have not been created yet
+        private final Deque<String> cloned = new ArrayDeque<>();
+        private int preparing;
+
+        IdleMaps(String name) {
+            this.name = name;
+        }
+
+        int size() {
+            return this.ready.size() + this.recycled.size() + this.cloned.size() + this.preparing;
+        }
+
+        void clear(CompetitionManager competitionManager, DynamicWorldReaper worldReaper) {
+            this.ready.forEach(competitionManager::clearDynamicMap);
+            this.recycled.forEach(competitionManager::clearDynamicMap);
+            this.cloned.forEach(worldReaper::reap);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.battleplugins.arena.competition;
+
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Represents slots in a {@link Competition} which are reserved for
+ * players who are about to join it.
+ * <p>
+ * A reservation must either be {@link #release() released} or used to
+ * {@link #join(Collection, PlayerRole) join} the competition, otherwise
+ * its slots are held for as long as the competition exists.
+ */
+public final class JoinReservation {
+    private final Competition<?> competition;
+    private int slots;
+
+    private boolean released;
+
+    JoinReservation(Competition<?> competition, int slots) {
+        this.competition = competition;
+        this.slots = slots;
+    }
+
+    /**
+     * Returns the {@link Competition} the slots are reserved in.
+     *
+     * @return the competition the slots are reserved in
+     */
+    public Competition<?> getCompetition() {
+        return this.competition;
+    }
+
+    /**
+     * Returns the number of slots which are still reserved.
+     *
+     * @return the number of reserved slots
+     */
+    public int getSlots() {
+        return this.slots;
+    }
+
+    /**
+     * Returns whether the reservation has been released.
+     *
+     * @return whether the reservation has been released
+     */
+    public boolean isReleased() {
+        return this.released;
+    }
+
+    /**
+     * Frees the reserved slots, so that other players can take them.
+     */
+    public void release() {
+        if (this.released) {
+            return;
+        }
+
+        this.released = true;
+        if (this.competition instanceof LiveCompetition<?> liveCompetition) {
+            liveCompetition.releaseSlots(this.slots);
+        }
+    }
+
+    /**
+     * Keeps the slots reserved for the given players until they join
+     * the competition themselves, freeing one slot as each of them joins.
+     * Slots of players who have not joined after the given number of
+     * ticks are freed.
+     *
+     * @param players the players the slots are reserved for
+     * @param ticks the number of ticks to keep the slots reserved for
+     */
+    void hold(Collection<Player> players, long ticks) {
+        if (this.released || this.slots == 0) {
+            return;
+        }
+
+        if (this.competition instanceof LiveCompetition<?> liveCompetition) {
+            liveCompetition.holdReservation(this, players, ticks);
+        }
+    }
+
+    void consume(int slots) {
+        if (this.released) {
+            return;
+        }
+
+        int consumed = Math.min(slots, this.slots);
+        this.slots -= consumed;
+        if (this.slots == 0) {
+            this.released = true;
+        }
+
+        if (this.competition instanceof LiveCompetition<?> liveCompetition) {
+            liveCompetition.releaseSlots(consumed);
+        }
+    }
+
+    /**
+     * Makes the given players join the competition in the reserved slots.
+     *
+     * @param players the players to join
+     * @param role the role of the players
+     */
+    public void join(Collection<Player> players, PlayerRole role) {
+        this.release();
+        this.competition.join(players, role);
+    }
+}
@@ -15,4 +15,5 @@ public record JoinResult(boolean canJoin, @Nullable Message message) {
     public static final JoinResult ARENA_FULL = new JoinResult(false, Messages.ARENA_FULL);
     public static final JoinResult NOT_JOINABLE = new JoinResult(false, Messages.ARENA_NOT_JOINABLE);
     public static final JoinResult NOT_SPECTATABLE = new JoinResult(false, Messages.ARENA_NOT_SPECTATABLE);
+    public static final JoinResult CANCELLED = new JoinResult(false, null);
 }
@@ -3,6 +3,7 @@ package org.battleplugins.arena.competition;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaLike;
 import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.leaderboard.LeaderboardManager;
 import org.battleplugins.arena.competition.map.CompetitionMap;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.options.Spawns;
@@ -32,10 +33,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -53,6 +54,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     private final PhaseManager<T> phaseManager;
     private final TeamManager teamManager;
     private final VictoryManager<T> victoryManager;
+    private final LeaderboardManager leaderboardManager;
 
     private final CompetitionListener<T> competitionListener;
     private final OptionsListener<T> optionsListener;
@@ -60,6 +62,18 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     
     private final int maxPlayers;
 
+    // Slots held for players who passed the join checks but have not joined yet
+    private int reservedSlots;
+
+    // Reservations handed to API callers, consumed once their players join
+    private final Map<UUID, JoinReservation> heldReservations = new HashMap<>();
+
+    // The competition scope of the resolver is cached until
+    // the version is bumped by a join, leave or role change
+    private int resolverVersion;
+    private int resolvedVersion = -1;
+    private Resolver resolver;
+
     public LiveCompetition(Arena arena, CompetitionType type, LiveCompetitionMap map) {
         this.arena = arena;
         this.type = type;
@@ -68,6 +82,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         this.phaseManager = new PhaseManager<>(arena, (T) this);
         this.teamManager = new TeamManager(this);
         this.victoryManager = new VictoryManager<>(arena, (T) this);
+        this.leaderboardManager = new LeaderboardManager(this);
 
         arena.getEventManager().registerEvents(this.competitionListener = new CompetitionListener<>(this));
         arena.getEventManager().registerEvents(this.optionsListener = new OptionsListener<>(this));
@@ -99,33 +114,8 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
             }
 
             // See if the player will fit within the player limits
-            Teams teams = this.arena.getTeams();
-
-            // If team selection involves the player picking their own
-            // team, or the game is not a team game, then we just need to check
-            // the overall maximum number of players this competition can have
-            if (teams.getTeamSelection() == TeamSelection.PICK || teams.isNonTeamGame()) {
-                // Player cannot join - arena is full
-                if ((this.getPlayers().size() + players.size()) > this.maxPlayers) {
-                    return CompletableFuture.completedFuture(JoinResult.ARENA_FULL);
-                }
-            } else {
-                List<ArenaTeam> availableTeams = teams.getAvailableTeams();
-                // Otherwise, we need to go through all teams and see if there is room for the player
-
-                int spaceAvailable = 0;
-                for (ArenaTeam availableTeam : availableTeams) {
-                    // Get the amount of space remaining on the team
-                    int remainingSpace = this.teamManager.getRemainingSpace(availableTeam);
-                    if (remainingSpace > 0) {
-                        spaceAvailable += remainingSpace;
-                    }
-                }
-
-                // No available teams - return that the arena is full
-                if (spaceAvailable < players.size()) {
-                    return CompletableFuture.completedFuture(JoinResult.ARENA_FULL);
-                }
+            if (!this.hasSpaceFor(players.size())) {
+                return CompletableFuture.completedFuture(JoinResult.ARENA_FULL);
             }
         }
 
@@ -145,6 +135,83 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         return CompletableFuture.completedFuture(JoinResult.SUCCESS);
     }
 
+    /**
+     * Reserves slots in this competition for players who are about to
+     * join it, so that other players cannot take their slots in the
+     * meantime. The slots are freed once the reservation is
+     * {@link JoinReservation#release() released}, or the players
+     * {@link JoinReservation#join(Collection, PlayerRole) join}.
+     *
+     * @param slots the number of slots to reserve
+     * @return the reservation, or null if there is not
+     *         enough space in the competition
+     */
+    @Nullable
+    public final JoinReservation reserve(int slots) {
+        if (slots > 0 && !this.hasSpaceFor(slots)) {
+            return null;
+        }
+
+        this.reservedSlots += slots;
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this);
+        return new JoinReservation(this, slots);
+    }
+
+    /**
+     * Gets the number of slots in this competition which are
+     * reserved for players who are about to join.
+     *
+     * @return the number of reserved slots
+     */
+    public final int getReservedSlots() {
+        return this.reservedSlots;
+    }
+
+    final void releaseSlots(int slots) {
+        this.reservedSlots = Math.max(0, this.reservedSlots - slots);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this);
+    }
+
+    final void holdReservation(JoinReservation reservation, Collection<Player> players, long ticks) {
+        for (Player player : players) {
+            // The new reservation holds a slot for this player, so free
+            // the one held by any earlier reservation for them
+            JoinReservation previous = this.heldReservations.put(player.getUniqueId(), reservation);
+            if (previous != null && previous != reservation) {
+                previous.consume(1);
+            }
+        }
+
+        // Free the slots if the players never join
+        this.arena.getPlugin().getArenaScheduler().runTaskLater(reservation, () -> {
+            this.heldReservations.values().removeIf(held -> held == reservation);
+            reservation.release();
+        }, ticks);
+    }
+
+    private boolean hasSpaceFor(int players) {
+        Teams teams = this.arena.getTeams();
+
+        // If team selection involves the player picking their own
+        // team, or the game is not a team game, then we just need to check
+        // the overall maximum number of players this competition can have
+        if (teams.getTeamSelection() == TeamSelection.PICK || teams.isNonTeamGame()) {
+            return this.getPlayers().size() + this.reservedSlots + players <= this.maxPlayers;
+        }
+
+        // Otherwise, we need to go through all teams and see if there is room for the player
+        int spaceAvailable = 0;
+        for (ArenaTeam availableTeam : teams.getAvailableTeams()) {
+            // Get the amount of space remaining on the team
+            int remainingSpace = this.teamManager.getRemainingSpace(availableTeam);
+            if (remainingSpace > 0) {
+                spaceAvailable += remainingSpace;
+            }
+        }
+
+        return spaceAvailable - this.reservedSlots >= players;
+    }
+
     /**
      * Finds a suitable team for the player to join and
      * joins them to that team, if applicable.
@@ -220,6 +287,11 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
      */
     public final void join(Collection<Player> players, PlayerRole role, @Nullable ArenaTeam team) {
         for (Player player : players) {
+            JoinReservation reservation = this.heldReservations.remove(player.getUniqueId());
+            if (reservation != null) {
+                reservation.consume(1);
+            }
+
             if (this.arena.getPlugin().isInArena(player)) {
                 this.arena.getPlugin().error("Player {} is already in an arena! Please report this as it is a bug!", player.getName(), new IllegalStateException());
                 continue;
@@ -235,6 +307,7 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
     private void join(ArenaPlayer player, @Nullable ArenaTeam team) {
         this.players.put(player.getPlayer(), player);
         this.playersByRole.computeIfAbsent(player.getRole(), e -> new HashSet<>()).add(player);
+        this.invalidateResolver();
 
         if (team == null) {
             if (player.getRole() == PlayerRole.PLAYING) {
@@ -244,6 +317,9 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
             this.teamManager.joinTeam(player, team);
         }
 
+        this.leaderboardManager.updatePlayer(player);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this);
+
         if (player.getRole() == PlayerRole.PLAYING) {
             ArenaJoinEvent event = new ArenaJoinEvent(player);
             this.arena.getEventManager().callEvent(event);
@@ -270,14 +346,21 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
      * @param cause the cause of the player leaving
      */
     public final void leave(ArenaPlayer player, ArenaLeaveEvent.Cause cause) {
+        // Announce any pending stat changes while the player is still in the competition
+        player.stats().flush();
+
         this.players.remove(player.getPlayer());
         this.playersByRole.get(player.getRole()).remove(player);
+        this.invalidateResolver();
 
         this.teamManager.leaveTeam(player);
+        this.leaderboardManager.updatePlayer(player);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this);
 
         ArenaLeaveEvent event = new ArenaLeaveEvent(player, cause);
         this.arena.getEventManager().callEvent(event);
 
+        this.arena.getPlugin().getStatStorage().record(player);
         player.remove();
     }
 
@@ -294,8 +377,11 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
 
         this.playersByRole.get(player.getRole()).remove(player);
         this.playersByRole.computeIfAbsent(role, e -> new HashSet<>()).add(player);
+        this.invalidateResolver();
 
         player.setRole(role);
+        this.leaderboardManager.updatePlayer(player);
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this);
     }
 
     /**
@@ -359,6 +445,16 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         return this.victoryManager;
     }
 
+    /**
+     * Gets the {@link LeaderboardManager} responsible for ranking the players
+     * of the competition by their stats.
+     *
+     * @return the leaderboard manager
+     */
+    public final LeaderboardManager getLeaderboardManager() {
+        return this.leaderboardManager;
+    }
+
     /**
      * Gets the {@link org.battleplugins.arena.options.ArenaOption} of the specified type.
      *
@@ -428,22 +524,58 @@ public class LiveCompetition<T extends Competition<T>> implements ArenaLike, Com
         return maxPlayers;
     }
 
+    /**
+     * Invalidates the cached {@link Resolver} of this competition, so
+     * that it is rebuilt the next time it is {@link #resolve() resolved}.
+     * <p>
+     * This is called automatically when a player joins or leaves and
+     * when the role of a player changes.
+     */
+    public final void invalidateResolver() {
+        this.resolverVersion++;
+    }
+
     @Override
     public Resolver resolve() {
-        Resolver.Builder builder = this.arena.resolve().toBuilder()
-                .define(ResolverKeys.ALIVE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount(), String::valueOf))
-                .define(ResolverKeys.COMPETITION, ResolverProvider.simple(this.getCompetition(), this.getMap()::getName))
-                .define(ResolverKeys.ONLINE_PLAYERS, ResolverProvider.simple(this.getAlivePlayerCount() + this.getSpectatorCount(), String::valueOf))
-                .define(ResolverKeys.MAP, ResolverProvider.simple(this.getMap(), CompetitionMap::getName))
-                .define(ResolverKeys.MAX_PLAYERS, ResolverProvider.simple(this.getMaxPlayers(), String::valueOf))
-                .define(ResolverKeys.PHASE, ResolverProvider.simple(this.getPhaseManager().getCurrentPhase(), p -> p.getType().getName()))
-                .define(ResolverKeys.SPECTATORS, ResolverProvider.simple(this.getSpectatorCount(), String::valueOf));
+        Resolver resolver = this.resolver;
+        if (resolver == null || this.resolvedVersion != this.resolverVersion) {
+            this.resolvedVersion = this.resolverVersion;
+            this.resolver = resolver = this.createResolver();
+        }
 
+        // The victory conditions and the current phase can change their
+        // values at any time, so they are layered on top of the cached
+        // scope every time rather than cached with it
+        Resolver.Builder builder = resolver.toBuilder();
         this.getVictoryManager().resolve().mergeInto(builder);
         if (this.getPhaseManager().getCurrentPhase() instanceof LiveCompetitionPhase<?> phase) {
             phase.resolve().mergeInto(builder);
         }
-        
+
         return builder.build();
     }
+
+    /**
+     * Creates the competition scope of the {@link Resolver}, on top
+     * of the scope of the {@link Arena}.
+     * <p>
+     * The resolver is cached, so values that change without the
+     * resolver being {@link #invalidateResolver() invalidated} should
+     * be defined with {@link ResolverProvider#dynamic}. The scopes of
+     * the victory conditions and the current phase are not part of the
+     * cached resolver.
+     *
+     * @return the resolver for this competition
+     */
+    protected Resolver createResolver() {
+        return this.arena.resolve().toBuilder()
+                .define(ResolverKeys.ALIVE_PLAYERS, ResolverProvider.lazy(this::getAlivePlayerCount, String::valueOf))
+                .define(ResolverKeys.COMPETITION, ResolverProvider.simple(this.getCompetition(), this.getMap()::getName))
+                .define(ResolverKeys.ONLINE_PLAYERS, ResolverProvider.lazy(() -> this.getAlivePlayerCount() + this.getSpectatorCount(), String::valueOf))
+                .define(ResolverKeys.MAP, ResolverProvider.simple(this.getMap(), CompetitionMap::getName))
+                .define(ResolverKeys.MAX_PLAYERS, ResolverProvider.simple(this.getMaxPlayers(), String::valueOf))
+                .define(ResolverKeys.PHASE, ResolverProvider.dynamic(() -> this.getPhaseManager().getCurrentPhase(), p -> p.getType().getName()))
+                .define(ResolverKeys.SPECTATORS, ResolverProvider.lazy(this::getSpectatorCount, String::valueOf))
+                .build();
+    }
 }
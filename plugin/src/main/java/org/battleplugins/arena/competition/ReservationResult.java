@@ -0,0 +1,12 @@
+package org.battleplugins.arena.competition;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the result of reserving slots in a competition.
+ *
+ * @param reservation the reservation, or null if no slots could be reserved
+ * @param result the result of the last competition that was tried
+ */
+public record ReservationResult(@Nullable JoinReservation reservation, JoinResult result) {
+}
@@ -8,7 +8,9 @@ import org.battleplugins.arena.event.player.ArenaKillEvent;
 import org.battleplugins.arena.event.player.ArenaLifeDepleteEvent;
 import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsChangeEvent;
 import org.battleplugins.arena.stat.ArenaStats;
+import org.battleplugins.arena.stat.StatChange;
 import org.bukkit.event.EventPriority;
 
 class StatListener<T extends Competition<T>> implements ArenaListener, CompetitionLike<T> {
@@ -20,36 +22,70 @@ class StatListener<T extends Competition<T>> implements ArenaListener, Competiti
 
     @ArenaEventHandler(priority = EventPriority.LOWEST)
     public void onDeath(ArenaDeathEvent event) {
-        event.getArenaPlayer().computeStat(ArenaStats.DEATHS, old -> (old == null ? 0 : old) + 1);
+        event.getArenaPlayer().incrementStat(ArenaStats.DEATHS, 1);
         if (event.getArena().isLivesEnabled()) {
-            event.getArenaPlayer().computeStat(ArenaStats.LIVES, old -> (old == null ? 0 : old) - 1);
+            event.getArenaPlayer().incrementStat(ArenaStats.LIVES, -1);
         }
     }
 
     @ArenaEventHandler(priority = EventPriority.LOWEST)
     public void onKill(ArenaKillEvent event) {
-        event.getKiller().computeStat(ArenaStats.KILLS, old -> (old == null ? 0 : old) + 1);
+        event.getKiller().incrementStat(ArenaStats.KILLS, 1);
     }
 
     @ArenaEventHandler(priority = EventPriority.LOWEST)
     public void onStatChange(ArenaStatChangeEvent<?> event) {
         if (event.getStat() == ArenaStats.LIVES && event.getStatHolder() instanceof ArenaPlayer player) {
-            int newValue = (int) event.getNewValue();
-            if (event.getOldValue() != null && (int) event.getOldValue() < newValue) {
-                return;
-            }
+            this.onLivesChange(player, event.getOldValue(), event.getNewValue());
+        }
+    }
 
-            if (newValue == 0) {
-                this.competition.getArena().getEventManager().callEvent(new ArenaLivesExhaustEvent(this.competition.getArena(), player));
-                return;
-            }
+    @ArenaEventHandler(priority = EventPriority.LOWEST)
+    public void onStatsChange(ArenaStatsChangeEvent event) {
+        StatChange<Integer> change = event.getChange(ArenaStats.LIVES);
+        if (change != null && event.getStatHolder() instanceof ArenaPlayer player) {
+            this.onLivesChange(player, change.oldValue(), change.newValue());
+        }
+    }
 
-            if (newValue < 0) {
-                return;
-            }
+    private void onLivesChange(ArenaPlayer player, Object oldValue, Object newValue) {
+        int lives = (int) newValue;
+        if (oldValue != null && (int) oldValue < lives) {
+            return;
+        }
+
+        if (lives == 0) {
+            this.competition.getArena().getEventManager().callEvent(new ArenaLivesExhaustEvent(this.competition.getArena(), player));
+            return;
+        }
 
-            this.competition.getArena().getEventManager().callEvent(new ArenaLifeDepleteEvent(this.competition.getArena(), player, newValue));
+        if (lives < 0) {
+            return;
         }
+
+        this.competition.getArena().getEventManager().callEvent(new ArenaLifeDepleteEvent(this.competition.getArena(), player, lives));
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerStatChange(ArenaStatChangeEvent<?> event) {
+        if (event.getStatHolder() instanceof ArenaPlayer player) {
+            this.updateStats(player, new StatChange<>(event.getStat(), event.getOldValue(), event.getNewValue()));
+        }
+    }
+
+    @ArenaEventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerStatsChange(ArenaStatsChangeEvent event) {
+        if (event.getStatHolder() instanceof ArenaPlayer player) {
+            for (StatChange<?> change : event.getChanges()) {
+                this.updateStats(player, change);
+            }
+        }
+    }
+
+    private <S> void updateStats(ArenaPlayer player, StatChange<S> change) {
+        // Monitor priority, so the new value is the one the player will end up with
+        this.competition.getTeamManager().onPlayerStatChange(player, change.stat(), change.oldValue(), change.newValue());
+        this.competition.getLeaderboardManager().onPlayerStatChange(player, change.stat(), change.newValue());
     }
 
     @SuppressWarnings("unchecked")
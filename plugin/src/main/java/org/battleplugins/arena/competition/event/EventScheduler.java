@@ -6,8 +6,8 @@ import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionType;
 import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.MapType;
+import org.battleplugins.arena.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.List;
@@ -43,11 +43,11 @@ public class EventScheduler {
             timeTilStart = options.getDelay().toMillis() / 50;
         }
 
-        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskLater(arena.getPlugin(), () -> {
+        ScheduledTask task = arena.getPlugin().getArenaScheduler().runTaskLater(arena, () -> {
             this.startEvent(arena, options);
         }, timeTilStart);
 
-        this.scheduledEvents.put(arena, new ScheduledEvent(options, bukkitTask));
+        this.scheduledEvents.put(arena, new ScheduledEvent(options, task));
     }
 
     /**
@@ -156,6 +156,6 @@ public class EventScheduler {
         return Set.copyOf(this.scheduledEvents.keySet());
     }
 
-    record ScheduledEvent(EventOptions options, BukkitTask task) {
+    record ScheduledEvent(EventOptions options, ScheduledTask task) {
     }
 }
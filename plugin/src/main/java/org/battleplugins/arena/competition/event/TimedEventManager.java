@@ -6,8 +6,7 @@ import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.context.TimedEventActionsContextProvider;
 import org.battleplugins.arena.event.action.EventAction;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
+import org.battleplugins.arena.scheduler.ScheduledTask;
 
 import java.time.Duration;
 import java.util.*;
@@ -20,7 +19,7 @@ public class TimedEventManager {
     private final LiveCompetition<?> competition;
     private final Map<String, TimedEvent> timedEvents = new HashMap<>();
     private final Map<String, PeriodicEvent> periodicEvents = new HashMap<>();
-    private final List<BukkitTask> activeTasks = new ArrayList<>();
+    private final List<ScheduledTask> activeTasks = new ArrayList<>();
     private long phaseStartTime = -1;
 
     // 新增：事件执行状态追踪
@@ -59,8 +58,8 @@ public class TimedEventManager {
             );
             eventExecutionInfo.put(eventId, info);
 
-            BukkitTask task = Bukkit.getScheduler().runTaskLater(
-                    arena.getPlugin(),
+            ScheduledTask task = arena.getPlugin().getArenaScheduler().runTaskLater(
+                    competition,
                     () -> executeTimedEvent(eventId, event),
                     delayTicks
             );
@@ -85,8 +84,8 @@ public class TimedEventManager {
             info.setStartDelay(event.startDelay);
             eventExecutionInfo.put(eventId, info);
 
-            BukkitTask task = Bukkit.getScheduler().runTaskTimer(
-                    arena.getPlugin(),
+            ScheduledTask task = arena.getPlugin().getArenaScheduler().runTaskTimer(
+                    competition,
                     () -> executePeriodicEvent(eventId, event),
                     delayTicks,
                     intervalTicks
@@ -99,7 +98,7 @@ public class TimedEventManager {
      * 停止所有事件
      */
     public void stop() {
-        for (BukkitTask task : activeTasks) {
+        for (ScheduledTask task : activeTasks) {
             if (task != null) {
                 task.cancel();
             }
@@ -0,0 +1,97 @@
+package org.battleplugins.arena.competition.leaderboard;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manages the {@link StatLeaderboard leaderboards} of a competition.
+ * <p>
+ * A leaderboard is created the first time it is requested for a stat,
+ * and from then on kept up to date as players join, leave and have
+ * their stats changed. This allows scoreboards, victory conditions and
+ * placeholders to share a single ranking rather than sorting the
+ * players every time.
+ */
+public class LeaderboardManager {
+    private final LiveCompetition<?> competition;
+
+    private final Map<ArenaStat<?>, StatLeaderboard> leaderboards = new HashMap<>();
+
+    public LeaderboardManager(LiveCompetition<?> competition) {
+        this.competition = competition;
+    }
+
+    /**
+     * Gets the {@link StatLeaderboard} for the given {@link ArenaStat}.
+     *
+     * @param stat the stat to get the leaderboard for
+     * @return the leaderboard for the stat
+     */
+    public StatLeaderboard getLeaderboard(ArenaStat<? extends Number> stat) {
+        StatLeaderboard leaderboard = this.leaderboards.get(stat);
+        if (leaderboard == null) {
+            leaderboard = new StatLeaderboard(stat);
+            for (ArenaPlayer player : this.competition.getPlayers()) {
+                leaderboard.update(player, value(player, stat));
+            }
+
+            this.leaderboards.put(stat, leaderboard);
+        }
+
+        return leaderboard;
+    }
+
+    /**
+     * Updates all leaderboards for the given {@link ArenaPlayer}, adding
+     * or removing them depending on whether they are playing in the
+     * competition.
+     *
+     * @param player the player to update
+     */
+    public void updatePlayer(ArenaPlayer player) {
+        if (this.leaderboards.isEmpty()) {
+            return;
+        }
+
+        boolean playing = this.competition.getPlayers().contains(player);
+        for (StatLeaderboard leaderboard : this.leaderboards.values()) {
+            if (playing) {
+                leaderboard.update(player, value(player, leaderboard.getStat()));
+            } else {
+                leaderboard.remove(player);
+            }
+        }
+    }
+
+    /**
+     * Updates the leaderboard of the given {@link ArenaStat} after
+     * the stat has changed for the given {@link ArenaPlayer}.
+     *
+     * @param player the player whose stat changed
+     * @param stat the stat that changed
+     * @param newValue the new value of the stat
+     */
+    public void onPlayerStatChange(ArenaPlayer player, ArenaStat<?> stat, @Nullable Object newValue) {
+        StatLeaderboard leaderboard = this.leaderboards.get(stat);
+        if (leaderboard == null || !this.competition.getPlayers().contains(player)) {
+            return;
+        }
+
+        Number value = newValue instanceof Number number ? number : leaderboard.getStat().getDefaultValue();
+        leaderboard.update(player, value.doubleValue());
+    }
+
+    private static double value(ArenaPlayer player, ArenaStat<? extends Number> stat) {
+        Number value = player.getStat(stat);
+        if (value == null) {
+            value = stat.getDefaultValue();
+        }
+
+        return value.doubleValue();
+    }
+}
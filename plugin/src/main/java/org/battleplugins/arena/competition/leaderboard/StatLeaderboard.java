@@ -0,0 +1,137 @@
+package org.battleplugins.arena.competition.leaderboard;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.stat.ArenaStat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.OptionalDouble;
+import java.util.TreeSet;
+
+/**
+ * A ranking of the players in a competition by a numeric {@link ArenaStat}.
+ * <p>
+ * The ranking is kept sorted as stats change, so reading the top
+ * entries only has to visit the entries that are returned.
+ */
+public class StatLeaderboard {
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::value).reversed()
+            .thenComparingLong(Entry::sequence);
+
+    private final ArenaStat<? extends Number> stat;
+
+    private final NavigableSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<ArenaPlayer, Entry> entries = new HashMap<>();
+
+    // Breaks ties in favor of the player who was ranked first
+    private long nextSequence;
+
+    StatLeaderboard(ArenaStat<? extends Number> stat) {
+        this.stat = stat;
+    }
+
+    /**
+     * Gets the {@link ArenaStat} this leaderboard ranks players by.
+     *
+     * @return the stat this leaderboard ranks players by
+     */
+    public ArenaStat<? extends Number> getStat() {
+        return this.stat;
+    }
+
+    /**
+     * Gets the players with the highest value of the stat, in order.
+     *
+     * @param limit the maximum number of players to get
+     * @return the players with the highest value of the stat
+     */
+    public List<ArenaPlayer> getTopPlayers(int limit) {
+        return this.getTopPlayers(limit, false);
+    }
+
+    /**
+     * Gets the top players of this leaderboard, in order.
+     *
+     * @param limit the maximum number of players to get
+     * @param ascending whether the players with the lowest value
+     *                  of the stat should be ranked first
+     * @return the top players of this leaderboard
+     */
+    public List<ArenaPlayer> getTopPlayers(int limit, boolean ascending) {
+        List<ArenaPlayer> players = new ArrayList<>(Math.min(limit, this.ranking.size()));
+        if (!ascending) {
+            Iterator<Entry> iterator = this.ranking.iterator();
+            while (iterator.hasNext() && players.size() < limit) {
+                players.add(iterator.next().player());
+            }
+
+            return players;
+        }
+
+        // Walk the values from the lowest up, but keep ties in the order
+        // the players were ranked in rather than reversing them too
+        Entry lowest = this.ranking.isEmpty() ? null : this.ranking.last();
+        while (lowest != null && players.size() < limit) {
+            Entry first = new Entry(null, lowest.value(), Long.MIN_VALUE);
+            Iterator<Entry> ties = this.ranking.subSet(first, true, new Entry(null, lowest.value(), Long.MAX_VALUE), true).iterator();
+            while (ties.hasNext() && players.size() < limit) {
+                players.add(ties.next().player());
+            }
+
+            lowest = this.ranking.lower(first);
+        }
+
+        return players;
+    }
+
+    /**
+     * Gets the value the given player is ranked by on this leaderboard.
+     *
+     * @param player the player to get the value of
+     * @return the value of the player, or an empty optional if
+     *         the player is not on this leaderboard
+     */
+    public OptionalDouble getValue(ArenaPlayer player) {
+        Entry entry = this.entries.get(player);
+        return entry == null ? OptionalDouble.empty() : OptionalDouble.of(entry.value());
+    }
+
+    /**
+     * Gets the number of players on this leaderboard.
+     *
+     * @return the number of players on this leaderboard
+     */
+    public int size() {
+        return this.ranking.size();
+    }
+
+    void update(ArenaPlayer player, double value) {
+        Entry entry = this.entries.get(player);
+        if (entry != null) {
+            if (entry.value() == value) {
+                return;
+            }
+
+            this.ranking.remove(entry);
+        }
+
+        Entry newEntry = new Entry(player, value, entry == null ? this.nextSequence++ : entry.sequence());
+        this.entries.put(player, newEntry);
+        this.ranking.add(newEntry);
+    }
+
+    void remove(ArenaPlayer player) {
+        Entry entry = this.entries.remove(player);
+        if (entry != null) {
+            this.ranking.remove(entry);
+        }
+    }
+
+    private record Entry(ArenaPlayer player, double value, long sequence) {
+    }
+}
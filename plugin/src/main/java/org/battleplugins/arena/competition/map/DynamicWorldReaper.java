@@ -0,0 +1,273 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Deletes the world folders of dynamic maps which are no longer used.
+ * <p>
+ * Deleting the region files of a world can take a while on slow disks,
+ * so folders are first moved into a trash directory inside the world
+ * container with a single atomic rename, and are then deleted on a
+ * dedicated I/O thread. Deletion is rate limited so it does not compete
+ * with the server for disk access. Folders which are still in the trash
+ * directory when the server stops are deleted once it starts again.
+ */
+public class DynamicWorldReaper {
+    public static final String DYNAMIC_WORLD_PREFIX = "ba-dynamic-";
+
+    private static final String TRASH_DIRECTORY = "ba-trash";
+    private static final int MAX_FILES_PER_SECOND = 100;
+    private static final long FILE_INTERVAL = TimeUnit.SECONDS.toNanos(1) / MAX_FILES_PER_SECOND;
+
+    private final BattleArena plugin;
+    private final Path worldContainer;
+    private final Path trashDirectory;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BattleArena World Reaper");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final Set<Path> queuedFolders = ConcurrentHashMap.newKeySet();
+    private final AtomicLong deletedFolders = new AtomicLong();
+    private final AtomicLong deletedBytes = new AtomicLong();
+    private final AtomicLong failedFolders = new AtomicLong();
+
+    // Only accessed from the reaper thread
+    private long nextDeletion;
+
+    public DynamicWorldReaper(BattleArena plugin, Path worldContainer) {
+        this.plugin = plugin;
+        this.worldContainer = worldContainer;
+        this.trashDirectory = worldContainer.resolve(TRASH_DIRECTORY);
+    }
+
+    /**
+     * Unloads the given dynamic world and queues its folder to be
+     * deleted. If the world cannot be unloaded, its folder is left
+     * in place and deleted on the next startup instead.
+     *
+     * @param world the world to delete
+     */
+    public void reap(World world) {
+        Path folder = world.getWorldFolder().toPath();
+        if (!Bukkit.unloadWorld(world, false)) {
+            this.plugin.warn("Failed to unload dynamic world {}! Its folder will be deleted on the next startup.", world.getName());
+            return;
+        }
+
+        this.reap(folder);
+    }
+
+    /**
+     * Queues the folder of the given dynamic world, which has
+     * not been loaded, to be deleted.
+     *
+     * @param worldName the name of the world to delete
+     */
+    public void reap(String worldName) {
+        this.reap(this.worldContainer.resolve(worldName));
+    }
+
+    /**
+     * Queues the folders of all dynamic worlds which are not loaded to
+     * be deleted, as well as any folders which were left in the trash
+     * directory before the server was last stopped.
+     */
+    public void reapUnloaded() {
+        int queued = this.queuedFolders.size();
+
+        File[] files = this.worldContainer.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory() && file.getName().startsWith(DYNAMIC_WORLD_PREFIX) && Bukkit.getWorld(file.getName()) == null) {
+                    this.reap(file.toPath());
+                }
+            }
+        }
+
+        // Resume deleting folders which were moved to the trash before a restart
+        if (Files.isDirectory(this.trashDirectory)) {
+            try (Stream<Path> folders = Files.list(this.trashDirectory)) {
+                folders.forEach(this::queue);
+            } catch (IOException e) {
+                this.plugin.error("Failed to list dynamic world folders in {}", this.trashDirectory, e);
+            }
+        }
+
+        int added = this.queuedFolders.size() - queued;
+        if (added > 0) {
+            this.plugin.info("Deleting {} unused dynamic world folders in the background.", added);
+        }
+    }
+
+    /**
+     * Gets the number of folders which are waiting to be deleted.
+     *
+     * @return the number of folders waiting to be deleted
+     */
+    public int getPendingFolders() {
+        return this.queuedFolders.size();
+    }
+
+    /**
+     * Gets the number of folders which have been deleted.
+     *
+     * @return the number of deleted folders
+     */
+    public long getDeletedFolders() {
+        return this.deletedFolders.get();
+    }
+
+    /**
+     * Gets the total size of all files which have been deleted,
+     * in bytes.
+     *
+     * @return the number of deleted bytes
+     */
+    public long getDeletedBytes() {
+        return this.deletedBytes.get();
+    }
+
+    /**
+     * Gets the number of folders which could not be deleted.
+     *
+     * @return the number of folders which failed to be deleted
+     */
+    public long getFailedFolders() {
+        return this.failedFolders.get();
+    }
+
+    /**
+     * Stops the reaper thread. Folders which have not been deleted yet
+     * stay in the trash directory, and are deleted on the next startup.
+     */
+    public void close() {
+        int pending = this.queuedFolders.size();
+        this.executor.shutdownNow();
+
+        try {
+            if (!this.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                this.plugin.warn("Timed out waiting for the world reaper to stop!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (pending > 0) {
+            this.plugin.info("{} dynamic world folders will be deleted on the next startup.", pending);
+        }
+    }
+
+    private void reap(Path folder) {
+        if (Files.notExists(folder)) {
+            return;
+        }
+
+        Path target = this.trashDirectory.resolve(folder.getFileName());
+        try {
+            Files.createDirectories(this.trashDirectory);
+            Files.move(folder, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Folder cannot be renamed (i.e. it is still in use), so delete it in place
+            this.plugin.debug("Failed to move dynamic world folder {} to the trash, deleting it in place.", folder.getFileName());
+            target = folder;
+        }
+
+        this.queue(target);
+    }
+
+    private void queue(Path folder) {
+        if (this.executor.isShutdown() || !this.queuedFolders.add(folder)) {
+            return;
+        }
+
+        this.executor.execute(() -> this.delete(folder));
+    }
+
+    private void delete(Path folder) {
+        try {
+            long bytes = this.deleteRecursively(folder);
+
+            this.deletedFolders.incrementAndGet();
+            this.deletedBytes.addAndGet(bytes);
+            this.queuedFolders.remove(folder);
+
+            this.plugin.debug("Deleted dynamic world folder {} ({} bytes, {} folders remaining).", folder.getFileName(), bytes, this.queuedFolders.size());
+        } catch (InterruptedIOException e) {
+            // Shutting down, the folder is deleted on the next startup
+            this.queuedFolders.remove(folder);
+        } catch (IOException e) {
+            this.failedFolders.incrementAndGet();
+            this.queuedFolders.remove(folder);
+
+            this.plugin.error("Failed to delete dynamic world folder {}", folder.getFileName(), e);
+        }
+    }
+
+    private long deleteRecursively(Path folder) throws IOException {
+        if (Files.notExists(folder)) {
+            return 0;
+        }
+
+        long[] bytes = new long[1];
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                DynamicWorldReaper.this.throttle();
+
+                Files.deleteIfExists(file);
+                bytes[0] += attributes.size();
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+
+                Files.deleteIfExists(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        return bytes[0];
+    }
+
+    private void throttle() throws InterruptedIOException {
+        long now = System.nanoTime();
+        if (this.nextDeletion > now) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(this.nextDeletion - now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while deleting dynamic world folder");
+            }
+        }
+
+        this.nextDeletion = Math.max(now, this.nextDeletion) + FILE_INTERVAL;
+    }
+}
@@ -3,6 +3,7 @@ package org.battleplugins.arena.competition.map;
 import net.kyori.adventure.util.TriState;
 import org.battleplugins.arena.Arena;
 import org.battleplugins.arena.ArenaLike;
+import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.LiveCompetition;
 import org.battleplugins.arena.competition.map.options.Bounds;
@@ -12,6 +13,7 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.config.ParseException;
 import org.battleplugins.arena.config.PostProcessable;
 import org.battleplugins.arena.util.BlockUtil;
+import org.battleplugins.arena.util.MapClipboard;
 import org.battleplugins.arena.util.Util;
 import org.battleplugins.arena.util.VoidChunkGenerator;
 import org.bukkit.Bukkit;
@@ -21,6 +23,8 @@ import org.bukkit.WorldCreator;
 import org.bukkit.WorldType;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
@@ -29,6 +33,7 @@ import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a map for a competition which is live on this server.
@@ -198,6 +203,10 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
      */
     public final void setBounds(Bounds bounds) {
         this.bounds = bounds;
+
+        // The cached blocks of the map are no longer within its bounds
+        BattleArena.getInstance().getMapClipboardCache().invalidate(this);
+        BattleArena.getInstance().getRegionMapCloner().invalidate(this);
     }
 
     /**
@@ -239,11 +248,92 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
      */
     @Nullable
     public final LiveCompetition<?> createDynamicCompetition(Arena arena) {
+        LiveCompetitionMap map = this.createDynamicMap(arena);
+        if (map == null) {
+            return null;
+        }
+
+        return map.createCompetition(arena);
+    }
+
+    /**
+     * Creates a new copy of this map in its own world, which a
+     * dynamic competition can then be created from using
+     * {@link #createCompetition(Arena)}.
+     * <p>
+     * The map is copied with WorldEdit on the calling thread. To clone
+     * the map at the region file level instead, use
+     * {@link #cloneDynamicWorld()} ahead of time.
+     * <p>
+     * This is only supported for maps with a {@link MapType}
+     * of type {@link MapType#DYNAMIC}.
+     *
+     * @param arena the arena to create the map for
+     * @return the created map, or null if the map could not be copied
+     */
+    @Nullable
+    public final LiveCompetitionMap createDynamicMap(Arena arena) {
+        if (this.type != MapType.DYNAMIC) {
+            throw new IllegalStateException("Cannot create dynamic map for non-dynamic map!");
+        }
+
+        // Copying region files would block the main thread, so they are
+        // only cloned ahead of time through cloneDynamicWorld(). The
+        // template is still started here so later copies can use it.
+        BattleArena.getInstance().getRegionMapCloner().getTemplate(this);
+        return this.createDynamicMap(arena, DynamicWorldReaper.DYNAMIC_WORLD_PREFIX + UUID.randomUUID(), false);
+    }
+
+    /**
+     * Copies the chunks of this map into the folder of a new dynamic
+     * world off the main thread, if this map is cloned at the region
+     * file level. The world itself is not created, which is done using
+     * {@link #createClonedDynamicMap(Arena, String)} on the main thread.
+     * <p>
+     * This is only supported for maps with a {@link MapType}
+     * of type {@link MapType#DYNAMIC}.
+     *
+     * @return a future completed on the main thread with the name of
+     *         the cloned world, or with null if the map has to be copied
+     *         using {@link #createDynamicMap(Arena)} instead; or null if
+     *         this map is not cloned at the region file level
+     */
+    @Nullable
+    public final CompletableFuture<String> cloneDynamicWorld() {
         if (this.type != MapType.DYNAMIC) {
-            throw new IllegalStateException("Cannot create dynamic competition for non-dynamic map!");
+            throw new IllegalStateException("Cannot create dynamic map for non-dynamic map!");
+        }
+
+        RegionMapCloner cloner = BattleArena.getInstance().getRegionMapCloner();
+        CompletableFuture<RegionMapCloner.Template> template = cloner.getTemplate(this);
+        if (template == null) {
+            return null;
         }
 
-        String worldName = "ba-dynamic-" + UUID.randomUUID();
+        String worldName = DynamicWorldReaper.DYNAMIC_WORLD_PREFIX + UUID.randomUUID();
+        return cloner.cloneToAsync(this, template, Bukkit.getWorldContainer().toPath().resolve(worldName))
+                .thenApply(cloned -> cloned ? worldName : null);
+    }
+
+    /**
+     * Creates a new copy of this map from a world which was cloned
+     * using {@link #cloneDynamicWorld()}.
+     *
+     * @param arena the arena to create the map for
+     * @param worldName the name of the cloned world
+     * @return the created map, or null if the world could not be created
+     */
+    @Nullable
+    public final LiveCompetitionMap createClonedDynamicMap(Arena arena, String worldName) {
+        if (this.type != MapType.DYNAMIC) {
+            throw new IllegalStateException("Cannot create dynamic map for non-dynamic map!");
+        }
+
+        return this.createDynamicMap(arena, worldName, true);
+    }
+
+    @Nullable
+    private LiveCompetitionMap createDynamicMap(Arena arena, String worldName, boolean cloned) {
         World world = Bukkit.createWorld(WorldCreator.name(worldName)
                 .generator(VoidChunkGenerator.INSTANCE)
                 .environment(World.Environment.NORMAL)
@@ -253,16 +343,71 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
         );
 
         if (world == null) {
+            // Discard the folder of the world, which may have been cloned already
+            BattleArena.getInstance().getWorldReaper().reap(worldName);
             return null;
         }
         world.setGameRule(GameRule.DISABLE_RAIDS, true);
         world.setAutoSave(false);
 
-        if (!BlockUtil.copyToWorld(this.mapWorld, world, this.bounds)) {
-            return null; // Failed to copy
+        // The chunks of the map are already in the world if it was cloned
+        if (cloned) {
+            return this.copyTo(arena, world);
+        }
+
+        MapClipboard clipboard = BattleArena.getInstance().getMapClipboardCache().getClipboard(this);
+        boolean copied = clipboard == null ? BlockUtil.copyToWorld(this.mapWorld, world, this.bounds) : BlockUtil.copyToWorld(clipboard, world, this.bounds);
+        if (!copied) {
+            // Failed to copy, so discard the world
+            BattleArena.getInstance().getWorldReaper().reap(world);
+            return null;
         }
 
-        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, worldName, this.bounds, this.spawns);
+        return this.copyTo(arena, world);
+    }
+
+    /**
+     * Resets a dynamic map which was previously created from this map
+     * using {@link #createDynamicMap(Arena)}, so its world can be reused
+     * for a new dynamic competition rather than creating a new world.
+     * <p>
+     * Only the region within the bounds of this map is restored, and any
+     * entities left behind in the world are removed.
+     *
+     * @param arena the arena to reset the map for
+     * @param dynamicMap the dynamic map to reset
+     * @return the reset map, or null if the map could not be reset
+     */
+    @Nullable
+    public final LiveCompetitionMap resetDynamicMap(Arena arena, LiveCompetitionMap dynamicMap) {
+        if (this.type != MapType.DYNAMIC || dynamicMap.type != MapType.DYNAMIC) {
+            throw new IllegalStateException("Cannot reset dynamic map for non-dynamic map!");
+        }
+
+        // If the map has been moved since the world was created, regions
+        // outside the current bounds would be left untouched
+        if (dynamicMap.bounds != this.bounds || dynamicMap.parentWorld != this.mapWorld) {
+            return null;
+        }
+
+        World world = dynamicMap.getWorld();
+        for (Entity entity : world.getEntities()) {
+            if (!(entity instanceof Player)) {
+                entity.remove();
+            }
+        }
+
+        MapClipboard clipboard = BattleArena.getInstance().getMapClipboardCache().getClipboard(this);
+        boolean reset = clipboard == null ? BlockUtil.resetRegion(this.mapWorld, world, this.bounds) : BlockUtil.resetRegion(clipboard, world, this.bounds);
+        if (!reset) {
+            return null;
+        }
+
+        return this.copyTo(arena, world);
+    }
+
+    private LiveCompetitionMap copyTo(Arena arena, World world) {
+        LiveCompetitionMap copy = arena.getMapFactory().create(this.name, arena, this.type, world.getName(), this.bounds, this.spawns);
         // Copy additional fields for custom maps
         if (copy.getClass() != LiveCompetitionMap.class) {
             Util.copyFields(this, copy);
@@ -272,7 +417,7 @@ public class LiveCompetitionMap implements ArenaLike, CompetitionMap, PostProces
         copy.parentWorld = this.mapWorld;
         copy.postProcess();
 
-        return copy.createCompetition(arena);
+        return copy;
     }
 
     /**
@@ -0,0 +1,137 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.BattleArenaConfig;
+import org.battleplugins.arena.util.BlockUtil;
+import org.battleplugins.arena.util.MapClipboard;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches a compact copy of the blocks of each dynamic map, so that
+ * creating or resetting a dynamic map does not have to read the map
+ * from its world every time.
+ * <p>
+ * Once the estimated size of all copies exceeds the configured budget,
+ * the least recently used copies are evicted. Maps which do not fit
+ * in the budget on their own are not cached at all, and are copied
+ * straight from their world instead. The copy of a map is invalidated
+ * when its bounds are changed, and all copies are cleared when the
+ * plugin is reloaded.
+ */
+public class MapClipboardCache {
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final BattleArena plugin;
+
+    private final Map<LiveCompetitionMap, MapClipboard> clipboards = new LinkedHashMap<>(16, 0.75F, true);
+    private final Set<LiveCompetitionMap> oversizedMaps = new HashSet<>();
+    private long size;
+
+    public MapClipboardCache(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the copy of the blocks of the given map, capturing them
+     * from the world of the map if they are not cached.
+     *
+     * @param map the map to get the copy of
+     * @return the copy of the blocks of the map, or null if the cache
+     *         is disabled, the map is too large to be cached or the
+     *         blocks could not be captured
+     */
+    @Nullable
+    public MapClipboard getClipboard(LiveCompetitionMap map) {
+        long maxSize = this.getMaxSize();
+        if (maxSize <= 0 || map.getBounds() == null || this.oversizedMaps.contains(map)) {
+            return null;
+        }
+
+        MapClipboard clipboard = this.clipboards.get(map);
+        if (clipboard != null) {
+            return clipboard;
+        }
+
+        clipboard = BlockUtil.capture(map.getWorld(), map.getBounds());
+        if (clipboard == null) {
+            return null;
+        }
+
+        long clipboardSize = clipboard.getMemorySize();
+        if (clipboardSize > maxSize) {
+            // Restoring an uncached copy is slower than copying from the world
+            // directly, so remember the map is too large rather than capturing it again
+            this.plugin.debug("Map {} is too large to be cached ({} bytes).", map.getName(), clipboardSize);
+            this.oversizedMaps.add(map);
+            return null;
+        }
+
+        this.clipboards.put(map, clipboard);
+        this.size += clipboardSize;
+
+        // Evict the least recently used maps until we are within budget
+        Iterator<MapClipboard> iterator = this.clipboards.values().iterator();
+        while (this.size > maxSize && iterator.hasNext()) {
+            MapClipboard evicted = iterator.next();
+            iterator.remove();
+
+            this.size -= evicted.getMemorySize();
+        }
+
+        this.plugin.debug("Cached map {} ({} bytes, {} bytes cached in total).", map.getName(), clipboardSize, this.size);
+        return clipboard;
+    }
+
+    /**
+     * Removes the cached copy of the given map, so it is captured
+     * again the next time it is needed.
+     *
+     * @param map the map to invalidate
+     */
+    public void invalidate(LiveCompetitionMap map) {
+        this.oversizedMaps.remove(map);
+
+        MapClipboard clipboard = this.clipboards.remove(map);
+        if (clipboard != null) {
+            this.size -= clipboard.getMemorySize();
+        }
+    }
+
+    /**
+     * Removes all cached copies.
+     */
+    public void clear() {
+        this.clipboards.clear();
+        this.oversizedMaps.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of maps which are cached.
+     *
+     * @return the number of cached maps
+     */
+    public int getCachedMaps() {
+        return this.clipboards.size();
+    }
+
+    /**
+     * Gets the estimated size of all cached copies, in bytes.
+     *
+     * @return the estimated size of the cache
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    private long getMaxSize() {
+        BattleArenaConfig config = this.plugin.getMainConfig();
+        return config == null ? 0 : config.getMapCacheSize() * BYTES_PER_MEGABYTE;
+    }
+}
@@ -0,0 +1,19 @@
+package org.battleplugins.arena.competition.map;
+
+/**
+ * Represents the engine used to copy a map into the world
+ * of a new dynamic map.
+ */
+public enum MapCloneEngine {
+    /**
+     * The map is copied block by block using WorldEdit
+     * once the world has been created.
+     */
+    WORLDEDIT,
+    /**
+     * The chunks of the map are copied from the region files
+     * of the map world before the world is created, falling
+     * back to WorldEdit if the map cannot be copied this way.
+     */
+    REGION
+}
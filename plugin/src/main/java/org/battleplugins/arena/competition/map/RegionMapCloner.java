@@ -0,0 +1,470 @@
+package org.battleplugins.arena.competition.map;
+
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.BattleArenaConfig;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Clones dynamic maps by copying the chunks of the map world at the
+ * region file level, rather than copying the map block by block with
+ * WorldEdit once the new world has been created.
+ * <p>
+ * The first time a map is cloned, the chunks within its bounds are
+ * copied from the region files of the map world into a template on
+ * disk. Each dynamic world of the map is then created by copying the
+ * template into the world folder before the world is loaded. Both are
+ * plain file copies which run on the map cloner thread.
+ * <p>
+ * Only whole chunks can be copied, so a map whose bounds are not aligned
+ * to chunks is only cloned this way if padding is enabled, in which case
+ * the rest of the chunks at the edges of the map is copied as well. Maps
+ * which cannot be cloned, such as maps outside the overworld, are copied
+ * with WorldEdit instead.
+ */
+public class RegionMapCloner {
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = SECTOR_SIZE * 2;
+    private static final int EXTERNAL_CHUNK_FLAG = 0x80;
+    private static final List<String> CHUNK_DIRECTORIES = List.of("region", "entities", "poi");
+    private static final long WRITE_CHECK_INTERVAL_MILLIS = 250;
+    private static final int MAX_WRITE_CHECKS = 40;
+
+    private final BattleArena plugin;
+    private final Path templatesDirectory;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BattleArena Map Cloner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Completed with null for maps which cannot be cloned by region file
+    private final Map<LiveCompetitionMap, CompletableFuture<Template>> templates = new HashMap<>();
+
+    // Worlds which are not saved while a template is being read from them
+    private final Map<World, PausedWorld> pausedWorlds = new HashMap<>();
+
+    public RegionMapCloner(BattleArena plugin, Path templatesDirectory) {
+        this.plugin = plugin;
+        this.templatesDirectory = templatesDirectory;
+    }
+
+    /**
+     * Gets the template of the given map, starting to create it from
+     * the region files of the map world if it does not exist yet. This
+     * must be called on the main thread.
+     *
+     * @param map the map to get the template of
+     * @return a future completed with the template of the map on the
+     *         main thread, or with null if it turns out the map cannot be
+     *         cloned; or null if the map is known not to be clonable
+     */
+    @Nullable
+    CompletableFuture<Template> getTemplate(LiveCompetitionMap map) {
+        BattleArenaConfig config = this.plugin.getMainConfig();
+        if (config == null || config.getMapCloneEngine() != MapCloneEngine.REGION || this.executor.isShutdown()) {
+            return null;
+        }
+
+        CompletableFuture<Template> template = this.templates.get(map);
+        if (template == null) {
+            template = this.createTemplate(map, config.isPadMapBounds());
+            this.templates.put(map, template);
+        }
+
+        if (template.isDone() && template.join() == null) {
+            return null;
+        }
+
+        return template;
+    }
+
+    /**
+     * Copies the given template into the given world folder.
+     *
+     * @param template the template to copy
+     * @param worldFolder the folder of the world to copy the template to
+     * @return whether the template was copied
+     */
+    private boolean cloneTo(Template template, Path worldFolder) {
+        try {
+            for (Path file : template.files()) {
+                Path target = worldFolder.resolve(file);
+                Files.createDirectories(target.getParent());
+                Files.copy(template.directory().resolve(file), target);
+            }
+
+            return true;
+        } catch (IOException e) {
+            this.plugin.error("Failed to copy map template to {}! Falling back to WorldEdit.", worldFolder.getFileName(), e);
+
+            try {
+                deleteRecursively(worldFolder);
+            } catch (IOException ex) {
+                this.plugin.error("Failed to delete partially copied world folder {}", worldFolder.getFileName(), ex);
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Copies the template of the given map into the given world folder
+     * on the map cloner thread, waiting for the template to be created
+     * first if needed. If the template cannot be copied, the map is
+     * copied with WorldEdit from then on.
+     *
+     * @param map the map to clone
+     * @param template the template of the map
+     * @param worldFolder the folder of the world to copy the template to
+     * @return a future completed on the main thread with whether the
+     *         template was copied
+     */
+    CompletableFuture<Boolean> cloneToAsync(LiveCompetitionMap map, CompletableFuture<Template> template, Path worldFolder) {
+        return template.thenApplyAsync(ready -> ready != null && this.cloneTo(ready, worldFolder), this.executor)
+                .thenApplyAsync(cloned -> {
+                    if (!cloned && this.templates.get(map) == template) {
+                        this.templates.put(map, CompletableFuture.completedFuture(null));
+                        this.deleteLater(template.join());
+                    }
+
+                    return cloned;
+                }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    /**
+     * Removes the template of the given map, so it is created again
+     * the next time the map is cloned.
+     *
+     * @param map the map to invalidate
+     */
+    public void invalidate(LiveCompetitionMap map) {
+        CompletableFuture<Template> template = this.templates.remove(map);
+        if (template != null) {
+            // Templates still being created are deleted once done
+            template.thenAccept(this::deleteLater);
+        }
+    }
+
+    /**
+     * Removes all templates, including any left behind before
+     * the server was last stopped.
+     */
+    public void clear() {
+        List<CompletableFuture<Template>> templates = List.copyOf(this.templates.values());
+        this.templates.clear();
+
+        if (this.executor.isShutdown() || !Files.isDirectory(this.templatesDirectory)) {
+            return;
+        }
+
+        // Only the templates which exist now are deleted, as new templates
+        // may be created before the cloner thread gets to deleting them
+        List<Path> directories;
+        try (Stream<Path> paths = Files.list(this.templatesDirectory)) {
+            directories = paths.toList();
+        } catch (IOException e) {
+            this.plugin.error("Failed to list map templates in {}", this.templatesDirectory, e);
+            return;
+        }
+
+        this.executor.execute(() -> directories.forEach(this::deleteTemplate));
+
+        // Templates still being created are deleted once done
+        for (CompletableFuture<Template> template : templates) {
+            if (!template.isDone()) {
+                template.thenAccept(this::deleteLater);
+            }
+        }
+    }
+
+    /**
+     * Stops the map cloner thread.
+     */
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private CompletableFuture<Template> createTemplate(LiveCompetitionMap map, boolean padBounds) {
+        Bounds bounds = map.getBounds();
+        World world = map.getWorld();
+        if (bounds == null || world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        boolean aligned = (bounds.getMinX() & 15) == 0 && (bounds.getMinZ() & 15) == 0
+                && (bounds.getMaxX() & 15) == 15 && (bounds.getMaxZ() & 15) == 15;
+
+        if (!aligned && !padBounds) {
+            this.plugin.debug("Bounds of map {} are not aligned to chunks, copying it with WorldEdit.", map.getName());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Dynamic worlds are always created as overworlds, which store
+        // their chunks directly in the region folder of the world
+        Path worldFolder = world.getWorldFolder().toPath();
+        if (world.getEnvironment() != World.Environment.NORMAL || !Files.isDirectory(worldFolder.resolve("region"))) {
+            this.plugin.debug("World {} of map {} cannot be cloned by region file, copying it with WorldEdit.", world.getName(), map.getName());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Stop the server from writing to the region files while they are read
+        this.pauseSaving(world);
+
+        // Only the map world is saved, which hands its chunks to the region
+        // IO thread. The template is read once those writes have settled.
+        world.save();
+
+        String mapName = map.getName();
+        return CompletableFuture.supplyAsync(() -> {
+                    awaitRegionWrites(worldFolder, bounds);
+                    return this.copyTemplate(mapName, worldFolder, bounds);
+                }, this.executor)
+                .exceptionally(e -> {
+                    this.plugin.error("Failed to create region file template for map {}! Copying it with WorldEdit instead.", mapName, e);
+                    return null;
+                })
+                .thenApplyAsync(template -> {
+                    this.resumeSaving(world);
+                    return template;
+                }, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    @Nullable
+    private Template copyTemplate(String mapName, Path worldFolder, Bounds bounds) {
+        Path directory = this.templatesDirectory.resolve(UUID.randomUUID().toString());
+        try {
+            for (String name : CHUNK_DIRECTORIES) {
+                Path sourceDirectory = worldFolder.resolve(name);
+                if (Files.isDirectory(sourceDirectory)) {
+                    copyChunks(sourceDirectory, directory.resolve(name), bounds.getMinX() >> 4, bounds.getMinZ() >> 4, bounds.getMaxX() >> 4, bounds.getMaxZ() >> 4);
+                }
+            }
+
+            List<Path> files = new ArrayList<>();
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> paths = Files.walk(directory)) {
+                    paths.filter(Files::isRegularFile).forEach(path -> files.add(directory.relativize(path)));
+                }
+            }
+
+            if (files.isEmpty()) {
+                // The chunks of the map have never been saved
+                this.plugin.debug("No chunks found for map {}, copying it with WorldEdit.", mapName);
+                this.deleteTemplate(directory);
+                return null;
+            }
+
+            this.plugin.debug("Created region file template for map {} ({} files).", mapName, files.size());
+            return new Template(directory, List.copyOf(files));
+        } catch (IOException e) {
+            this.plugin.error("Failed to create region file template for map {}! Copying it with WorldEdit instead.", mapName, e);
+            this.deleteTemplate(directory);
+            return null;
+        }
+    }
+
+    private void pauseSaving(World world) {
+        PausedWorld paused = this.pausedWorlds.computeIfAbsent(world, e -> new PausedWorld(world.isAutoSave()));
+        paused.templates++;
+        world.setAutoSave(false);
+    }
+
+    private void resumeSaving(World world) {
+        PausedWorld paused = this.pausedWorlds.get(world);
+        if (paused == null || --paused.templates > 0) {
+            return;
+        }
+
+        this.pausedWorlds.remove(world);
+        world.setAutoSave(paused.autoSave);
+    }
+
+    private void deleteLater(@Nullable Template template) {
+        if (template != null && !this.executor.isShutdown()) {
+            // Deleted on the cloner thread, after any copies still in progress
+            this.executor.execute(() -> this.deleteTemplate(template.directory()));
+        }
+    }
+
+    private void deleteTemplate(Path directory) {
+        try {
+            deleteRecursively(directory);
+        } catch (IOException e) {
+            this.plugin.error("Failed to delete map template {}", directory.getFileName(), e);
+        }
+    }
+
+    // Copies the given chunks from the region files in the source directory
+    // into new region files in the target directory. Chunk data is copied as
+    // is, without decompressing it, and chunks are stored at the same position
+    private static void awaitRegionWrites(Path worldFolder, Bounds bounds) {
+        // The server does not expose when the chunks of a single world have
+        // been written, so wait until the region files of the map stop changing
+        List<Path> regionFiles = new ArrayList<>();
+        for (String name : CHUNK_DIRECTORIES) {
+            for (int regionX = bounds.getMinX() >> 9; regionX <= bounds.getMaxX() >> 9; regionX++) {
+                for (int regionZ = bounds.getMinZ() >> 9; regionZ <= bounds.getMaxZ() >> 9; regionZ++) {
+                    regionFiles.add(worldFolder.resolve(name).resolve("r." + regionX + "." + regionZ + ".mca"));
+                }
+            }
+        }
+
+        List<String> lastState = null;
+        for (int attempt = 0; attempt < MAX_WRITE_CHECKS; attempt++) {
+            List<String> state = new ArrayList<>(regionFiles.size());
+            for (Path file : regionFiles) {
+                File regionFile = file.toFile();
+                state.add(regionFile.length() + ":" + regionFile.lastModified());
+            }
+
+            if (state.equals(lastState)) {
+                return;
+            }
+
+            lastState = state;
+            try {
+                Thread.sleep(WRITE_CHECK_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void copyChunks(Path sourceDirectory, Path targetDirectory, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) throws IOException {
+        for (int regionX = minChunkX >> 5; regionX <= maxChunkX >> 5; regionX++) {
+            for (int regionZ = minChunkZ >> 5; regionZ <= maxChunkZ >> 5; regionZ++) {
+                Path source = sourceDirectory.resolve("r." + regionX + "." + regionZ + ".mca");
+                if (Files.notExists(source)) {
+                    continue;
+                }
+
+                ByteBuffer targetHeader = ByteBuffer.allocate(HEADER_SIZE);
+                List<ByteBuffer> sectors = new ArrayList<>();
+                int nextSector = HEADER_SIZE / SECTOR_SIZE;
+
+                try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                    readFully(channel, header, 0);
+
+                    int fromX = Math.max(minChunkX, regionX << 5);
+                    int toX = Math.min(maxChunkX, (regionX << 5) + 31);
+                    int fromZ = Math.max(minChunkZ, regionZ << 5);
+                    int toZ = Math.min(maxChunkZ, (regionZ << 5) + 31);
+                    for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                        for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                            int index = ((chunkX & 31) + (chunkZ & 31) * 32) * 4;
+                            int location = header.getInt(index);
+                            if (location == 0) {
+                                // Chunk has not been generated
+                                continue;
+                            }
+
+                            // Only the chunk itself is read, the rest of its last sector is padding
+                            int sectorCount = location & 0xFF;
+                            long offset = (long) (location >>> 8) * SECTOR_SIZE;
+                            ByteBuffer data = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+                            data.limit(5);
+                            readFully(channel, data, offset);
+
+                            int length = data.getInt(0);
+                            if (length < 1 || length + 4 > data.capacity()) {
+                                throw new IOException("Invalid length of chunk " + chunkX + ", " + chunkZ + " in " + source.getFileName());
+                            }
+
+                            data.limit(length + 4);
+                            readFully(channel, data, offset);
+
+                            // Chunks too large for the region file are stored in a separate file
+                            if ((data.get(4) & EXTERNAL_CHUNK_FLAG) != 0) {
+                                String externalName = "c." + chunkX + "." + chunkZ + ".mcc";
+                                Files.createDirectories(targetDirectory);
+                                Files.copy(sourceDirectory.resolve(externalName), targetDirectory.resolve(externalName));
+                            }
+
+                            targetHeader.putInt(index, (nextSector << 8) | sectorCount);
+                            targetHeader.putInt(SECTOR_SIZE + index, header.getInt(SECTOR_SIZE + index));
+
+                            sectors.add(data);
+                            nextSector += sectorCount;
+                        }
+                    }
+                }
+
+                if (sectors.isEmpty()) {
+                    continue;
+                }
+
+                Files.createDirectories(targetDirectory);
+                try (OutputStream output = Files.newOutputStream(targetDirectory.resolve(source.getFileName()))) {
+                    output.write(targetHeader.array());
+                    for (ByteBuffer data : sectors) {
+                        output.write(data.array());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of region file");
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> pathsToDelete = Files.walk(directory)) {
+            for (Path path : pathsToDelete.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * A copy of the chunks of a map, stored on disk.
+     *
+     * @param directory the directory of the template
+     * @param files the files of the template, relative to its directory
+     */
+    record Template(Path directory, List<Path> files) {
+    }
+
+    private static class PausedWorld {
+        private final boolean autoSave;
+        private int templates;
+
+        PausedWorld(boolean autoSave) {
+            this.autoSave = autoSave;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.battleplugins.arena.competition.map.options;
+
+import org.battleplugins.arena.config.ArenaOption;
+
+/**
+ * Represents the options for the pool of dynamic maps which
+ * are prepared ahead of time for each dynamic map.
+ */
+public class DynamicMapPoolOptions {
+    @ArenaOption(name = "min-idle", description = "The number of idle maps to prepare ahead of time for each dynamic map.")
+    private int minIdle = 1;
+    @ArenaOption(name = "max-idle", description = "The maximum number of idle maps to keep for each dynamic map.")
+    private int maxIdle = 2;
+    @ArenaOption(name = "max-total", description = "The maximum number of idle and active maps for each dynamic map.")
+    private int maxTotal = -1;
+    @ArenaOption(name = "recycle-worlds", description = "Whether the worlds of finished dynamic competitions should be reset and reused.")
+    private boolean recycleWorlds = true;
+
+    public DynamicMapPoolOptions() {
+    }
+
+    public DynamicMapPoolOptions(int minIdle, int maxIdle, int maxTotal, boolean recycleWorlds) {
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        this.maxTotal = maxTotal;
+        this.recycleWorlds = recycleWorlds;
+    }
+
+    public int getMinIdle() {
+        return this.minIdle;
+    }
+
+    public int getMaxIdle() {
+        return this.maxIdle;
+    }
+
+    public int getMaxTotal() {
+        return this.maxTotal;
+    }
+
+    public boolean isRecycleWorlds() {
+        return this.recycleWorlds;
+    }
+}
@@ -0,0 +1,415 @@
+package org.battleplugins.arena.competition.matchmaking;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.competition.CompetitionManager;
+import org.battleplugins.arena.competition.CompetitionResult;
+import org.battleplugins.arena.competition.CompetitionType;
+import org.battleplugins.arena.competition.JoinReservation;
+import org.battleplugins.arena.competition.JoinResult;
+import org.battleplugins.arena.competition.PlayerRole;
+import org.battleplugins.arena.competition.ReservationResult;
+import org.battleplugins.arena.messages.Messages;
+import org.battleplugins.arena.options.Teams;
+import org.battleplugins.arena.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Places players into competitions.
+ * <p>
+ * Join requests of players and parties are queued per arena, and the
+ * queues are drained once per tick so that everyone who joined in the
+ * same tick is placed in a single batch. Players are packed into the
+ * open competitions with the most players first, and a new dynamic
+ * competition is only created once enough players are waiting to start
+ * one, or a request has been waiting for too long. At most one dynamic
+ * competition is created per arena each tick, so a rush of players
+ * joining at once is spread out over a few ticks.
+ */
+public class Matchmaker {
+    private static final int MAX_CREATED_PER_TICK = 1;
+    private static final long MAX_WAIT_TICKS = 100;
+
+    private final BattleArena plugin;
+
+    private final Map<Arena, Deque<Request>> queues = new LinkedHashMap<>();
+    private final Map<UUID, Request> queuedPlayers = new HashMap<>();
+    private final Map<Arena, RatingProvider> ratingProviders = new HashMap<>();
+
+    private ScheduledTask drainTask;
+
+    public Matchmaker(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queues the given players to join a competition in the given arena.
+     * The players are placed together in the same competition.
+     *
+     * @param arena the arena to join
+     * @param map the name of the map to join, or null for any map
+     * @param players the players to join
+     * @param role the role of the players
+     * @return a future completed with the competition the players
+     *         joined, once they have been placed
+     */
+    public CompletableFuture<CompetitionResult> queue(Arena arena, @Nullable String map, Collection<Player> players, PlayerRole role) {
+        if (!Bukkit.isPrimaryThread()) {
+            return CompletableFuture.supplyAsync(() -> this.queue(arena, map, players, role), Bukkit.getScheduler().getMainThreadExecutor(this.plugin))
+                    .thenCompose(future -> future);
+        }
+
+        RatingProvider ratingProvider = this.ratingProviders.get(arena);
+        double rating = ratingProvider == null ? 0 : players.stream()
+                .mapToDouble(ratingProvider::getRating)
+                .average()
+                .orElse(0);
+
+        Request request = new Request(arena, map, new ArrayList<>(players), role, rating, this.plugin.getArenaScheduler().getCurrentTick());
+        for (Player player : players) {
+            this.queuedPlayers.put(player.getUniqueId(), request);
+        }
+
+        this.queues.computeIfAbsent(arena, e -> new ArrayDeque<>()).add(request);
+        this.scheduleDrain();
+
+        return request.future;
+    }
+
+    /**
+     * Removes the given player from the queue they are in.
+     *
+     * @param player the player to remove
+     * @return whether the player was in a queue
+     */
+    public boolean dequeue(Player player) {
+        Request request = this.queuedPlayers.remove(player.getUniqueId());
+        if (request == null) {
+            return false;
+        }
+
+        request.players.remove(player);
+        if (request.players.isEmpty()) {
+            Deque<Request> queue = this.queues.get(request.arena);
+            if (queue != null) {
+                queue.remove(request);
+            }
+
+            request.future.complete(new CompetitionResult(null, JoinResult.CANCELLED));
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether the given player is waiting in a queue.
+     *
+     * @param player the player to check
+     * @return whether the player is waiting in a queue
+     */
+    public boolean isQueued(Player player) {
+        return this.queuedPlayers.containsKey(player.getUniqueId());
+    }
+
+    /**
+     * Gets the number of players waiting in the queue of the given arena.
+     *
+     * @param arena the arena to get the queue size of
+     * @return the number of players waiting in the queue
+     */
+    public int getQueuedPlayers(Arena arena) {
+        Deque<Request> queue = this.queues.get(arena);
+        if (queue == null) {
+            return 0;
+        }
+
+        int players = 0;
+        for (Request request : queue) {
+            players += request.players.size();
+        }
+
+        return players;
+    }
+
+    /**
+     * Sets the {@link RatingProvider} used to balance the players of the
+     * given arena. Players queued in the same tick are placed in order of
+     * their rating, so players of a similar rating end up in the same
+     * competitions.
+     *
+     * @param arena the arena to set the rating provider for
+     * @param ratingProvider the rating provider, or null to place players
+     *                       in the order they joined
+     */
+    public void setRatingProvider(Arena arena, @Nullable RatingProvider ratingProvider) {
+        if (ratingProvider == null) {
+            this.ratingProviders.remove(arena);
+        } else {
+            this.ratingProviders.put(arena, ratingProvider);
+        }
+    }
+
+    /**
+     * Cancels all the queued requests.
+     */
+    public void clear() {
+        if (this.drainTask != null) {
+            this.drainTask.cancel();
+            this.drainTask = null;
+        }
+
+        for (Deque<Request> queue : this.queues.values()) {
+            for (Request request : queue) {
+                request.future.complete(new CompetitionResult(null, JoinResult.CANCELLED));
+            }
+        }
+
+        this.queues.clear();
+        this.queuedPlayers.clear();
+    }
+
+    private void scheduleDrain() {
+        if (this.drainTask == null) {
+            this.drainTask = this.plugin.getArenaScheduler().runTaskLater(this, this::drain, 1);
+        }
+    }
+
+    private void drain() {
+        this.drainTask = null;
+
+        for (Map.Entry<Arena, Deque<Request>> entry : List.copyOf(this.queues.entrySet())) {
+            this.drain(entry.getKey(), entry.getValue());
+        }
+
+        this.queues.values().removeIf(Deque::isEmpty);
+        if (!this.queues.isEmpty()) {
+            // Keep draining while players are still waiting
+            this.scheduleDrain();
+        }
+    }
+
+    private void drain(Arena arena, Deque<Request> queue) {
+        List<Request> requests = new ArrayList<>(queue);
+        queue.clear();
+
+        if (this.ratingProviders.containsKey(arena)) {
+            // Stable, so requests with the same rating stay in the order they joined
+            requests.sort(Comparator.comparingDouble(request -> request.rating));
+        }
+
+        CompetitionManager competitionManager = this.plugin.getCompetitionManager();
+        Batch batch = new Batch(arena);
+
+        // Pack requests into the competitions that are already open. Slots are
+        // reserved as soon as a request fits, so requests which are checked at
+        // the same time cannot overfill a competition.
+        List<CompletableFuture<?>> reservations = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            this.prune(request);
+            if (request.players.isEmpty()) {
+                this.complete(request, new CompetitionResult(null, JoinResult.CANCELLED));
+                continue;
+            }
+
+            reservations.add(competitionManager.reserveCompetition(arena, request.map, request.players, request.role).thenAccept(result -> {
+                JoinReservation reservation = result.reservation();
+                if (reservation != null) {
+                    this.place(request, reservation);
+                    return;
+                }
+
+                request.lastResult = result.result();
+                batch.waitingPlayers.merge(key(request.map), request.players.size(), Integer::sum);
+            }));
+        }
+
+        // Once every request has been tried, create new competitions for the remaining ones
+        CompletableFuture<Void> tried = CompletableFuture.allOf(reservations.toArray(CompletableFuture[]::new));
+        this.plugin.getArenaScheduler().thenComposeSync(tried, ignored -> {
+            List<Request> unplaced = requests.stream()
+                    .filter(request -> !request.future.isDone())
+                    .toList();
+
+            return this.placeRemaining(batch, unplaced.iterator());
+        }).exceptionally(e -> {
+            this.plugin.error("Failed to place queued players in arena {}", arena.getName(), e);
+            for (Request request : requests) {
+                this.complete(request, new CompetitionResult(null, JoinResult.NOT_JOINABLE));
+            }
+
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> placeRemaining(Batch batch, Iterator<Request> requests) {
+        if (!requests.hasNext()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Request request = requests.next();
+        return this.placeRemaining(batch, request).thenCompose(ignored -> this.placeRemaining(batch, requests));
+    }
+
+    private CompletableFuture<Void> placeRemaining(Batch batch, Request request) {
+        CompetitionManager competitionManager = this.plugin.getCompetitionManager();
+
+        // Competitions created for earlier requests may have room
+        CompletableFuture<ReservationResult> existing = batch.created > 0
+                ? competitionManager.reserveCompetition(batch.arena, request.map, request.players, request.role)
+                : CompletableFuture.completedFuture(new ReservationResult(null, request.lastResult));
+
+        return existing.thenCompose(result -> {
+            if (result.reservation() != null) {
+                this.place(request, result.reservation());
+                batch.waitingPlayers.merge(key(request.map), -request.players.size(), Integer::sum);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Events cannot have dynamic competitions created for them, so
+            // there is nothing to wait for
+            if (batch.arena.getType() == CompetitionType.EVENT) {
+                this.fail(request);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            boolean waitedTooLong = this.plugin.getArenaScheduler().getCurrentTick() - request.queuedAt >= MAX_WAIT_TICKS;
+            boolean enoughPlayers = batch.waitingPlayers.getOrDefault(key(request.map), 0) >= minPlayers(batch.arena);
+            boolean noCompetitions = request.map == null
+                    ? competitionManager.getCompetitions(batch.arena).isEmpty()
+                    : competitionManager.getCompetitions(batch.arena, request.map).isEmpty();
+
+            if ((!waitedTooLong && !enoughPlayers && !noCompetitions) || batch.created >= MAX_CREATED_PER_TICK) {
+                this.requeue(request);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            batch.created++;
+            return competitionManager.prepareCompetition(batch.arena, request.map, request.players, request.role, request.lastResult).thenAccept(prepared -> {
+                JoinReservation reservation = prepared.reservation();
+                if (reservation == null) {
+                    request.lastResult = prepared.result();
+                    this.fail(request);
+                    return;
+                }
+
+                this.place(request, reservation);
+                batch.waitingPlayers.merge(key(request.map), -request.players.size(), Integer::sum);
+            });
+        });
+    }
+
+    private void requeue(Request request) {
+        if (!request.announced) {
+            request.announced = true;
+            for (Player player : request.players) {
+                Messages.ARENA_QUEUED.send(player, request.map == null ? request.arena.getName() : request.map);
+            }
+        }
+
+        this.queues.computeIfAbsent(request.arena, e -> new ArrayDeque<>()).add(request);
+        this.scheduleDrain();
+    }
+
+    // Drop players who went offline or joined another competition while queued
+    private void prune(Request request) {
+        request.players.removeIf(player -> {
+            if (player.isOnline() && ArenaPlayer.getArenaPlayer(player) == null) {
+                return false;
+            }
+
+            this.queuedPlayers.remove(player.getUniqueId(), request);
+            return true;
+        });
+    }
+
+    private void place(Request request, JoinReservation reservation) {
+        this.prune(request);
+        if (request.players.isEmpty()) {
+            reservation.release();
+            this.complete(request, new CompetitionResult(null, JoinResult.CANCELLED));
+            return;
+        }
+
+        // Join right away so the next requests in the batch see the new player count
+        reservation.join(request.players, request.role);
+        this.complete(request, new CompetitionResult(reservation.getCompetition(), JoinResult.SUCCESS));
+    }
+
+    private void fail(Request request) {
+        JoinResult lastResult = request.lastResult;
+        this.complete(request, new CompetitionResult(null, lastResult == null || lastResult.canJoin() ? JoinResult.NOT_JOINABLE : lastResult));
+    }
+
+    private void complete(Request request, CompetitionResult result) {
+        if (request.future.isDone()) {
+            return;
+        }
+
+        for (Player player : request.players) {
+            this.queuedPlayers.remove(player.getUniqueId(), request);
+        }
+
+        request.future.complete(result);
+    }
+
+    private static int minPlayers(Arena arena) {
+        Teams teams = arena.getTeams();
+        return Math.max(1, teams.getTeamAmount().getMin() * teams.getTeamSize().getMin());
+    }
+
+    private static String key(@Nullable String map) {
+        return map == null ? "" : map.toLowerCase(Locale.ROOT);
+    }
+
+    // The state of a single drain of the queue of an arena
+    private static class Batch {
+        private final Arena arena;
+        private final Map<String, Integer> waitingPlayers = new HashMap<>();
+        private int created;
+
+        Batch(Arena arena) {
+            this.arena = arena;
+        }
+    }
+
+    private static class Request {
+        private final Arena arena;
+        @Nullable
+        private final String map;
+        private final List<Player> players;
+        private final PlayerRole role;
+        private final double rating;
+        private final long queuedAt;
+        private final CompletableFuture<CompetitionResult> future = new CompletableFuture<>();
+
+        @Nullable
+        private JoinResult lastResult;
+        private boolean announced;
+
+        Request(Arena arena, @Nullable String map, List<Player> players, PlayerRole role, double rating, long queuedAt) {
+            this.arena = arena;
+            this.map = map;
+            this.players = players;
+            this.role = role;
+            this.rating = rating;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.battleplugins.arena.competition.matchmaking;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Provides the rating of a player, which the {@link Matchmaker}
+ * uses to place players of a similar rating in the same competition.
+ */
+@FunctionalInterface
+public interface RatingProvider {
+
+    /**
+     * Gets the rating of the given player.
+     *
+     * @param player the player to get the rating of
+     * @return the rating of the player
+     */
+    double getRating(Player player);
+}
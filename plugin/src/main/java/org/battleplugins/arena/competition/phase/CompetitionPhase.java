@@ -1,5 +1,6 @@
 package org.battleplugins.arena.competition.phase;
 
+import org.battleplugins.arena.ArenaLike;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionLike;
 import org.battleplugins.arena.config.ArenaOption;
@@ -10,6 +11,7 @@ import org.battleplugins.arena.config.context.OptionContextProvider;
 import org.battleplugins.arena.event.ArenaEventType;
 import org.battleplugins.arena.event.ArenaListener;
 import org.battleplugins.arena.event.action.EventAction;
+import org.battleplugins.arena.event.action.EventActionPlan;
 import org.battleplugins.arena.options.ArenaOptionType;
 import org.battleplugins.arena.util.Describable;
 import org.jetbrains.annotations.Nullable;
@@ -51,6 +53,8 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
     )
     protected Map<ArenaOptionType<?>, org.battleplugins.arena.options.ArenaOption> options;
 
+    private Map<ArenaEventType<?>, EventActionPlan> actionPlans;
+
     // API methods
 
     /**
@@ -66,6 +70,7 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
     // Internal methods (cannot be overridden by extending plugins)
 
     void start() {
+        this.compileActionPlans();
         this.onStart();
     }
 
@@ -106,6 +111,21 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
         return Map.copyOf(this.eventActions);
     }
 
+    /**
+     * Gets the compiled {@link EventActionPlan} for the given event type,
+     * containing both the actions of the arena and of this phase.
+     *
+     * @param eventType the event type to get the plan for
+     * @return the action plan for the given event type
+     */
+    public final EventActionPlan getActionPlan(ArenaEventType<?> eventType) {
+        if (this.actionPlans == null) {
+            this.compileActionPlans();
+        }
+
+        return this.actionPlans.getOrDefault(eventType, EventActionPlan.empty());
+    }
+
     /**
      * Gets the {@link CompetitionPhaseType} of this phase.
      *
@@ -164,6 +184,11 @@ public abstract class CompetitionPhase<T extends Competition<T>> implements Comp
         this.previousPhase = previousPhase;
     }
 
+    private void compileActionPlans() {
+        Map<ArenaEventType<?>, List<EventAction>> arenaActions = this.competition instanceof ArenaLike arenaLike ? arenaLike.getArena().getEventActions() : null;
+        this.actionPlans = EventActionPlan.compileAll(arenaActions, this.eventActions);
+    }
+
     @Override
     public final String describe() {
         return this.type.describe();
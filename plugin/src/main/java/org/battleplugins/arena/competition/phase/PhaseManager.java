@@ -38,8 +38,12 @@ public class PhaseManager<T extends Competition<T>> {
         this.end(complete);
 
         this.currentPhase = this.arena.createPhase(phaseType, this.competition);
+
         this.arena.getEventManager().registerEvents(this.currentPhase);
         this.currentPhase.start();
+
+        // Whether the competition can be joined depends on its phase
+        this.arena.getPlugin().getCompetitionManager().updateCompetition(this.competition);
     }
 
     /**
@@ -10,10 +10,9 @@ import org.battleplugins.arena.messages.Messages;
 import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.resolver.ResolverKeys;
 import org.battleplugins.arena.resolver.ResolverProvider;
+import org.battleplugins.arena.scheduler.ScheduledTask;
 import org.battleplugins.arena.util.Util;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -30,12 +29,12 @@ public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitio
     private String sound;
 
     private long countdown;
-    private BukkitTask countdownTask;
+    private ScheduledTask countdownTask;
 
     @Override
     public void onStart() {
         this.countdown = this.countdownTime.toSeconds();
-        this.countdownTask = Bukkit.getScheduler().runTaskTimer(this.competition.getArena().getPlugin(), () -> {
+        this.countdownTask = this.competition.getArena().getPlugin().getArenaScheduler().runTaskTimer(this.competition, () -> {
             if (this.countdown == 0) {
                 this.advanceToNextPhase();
                 return;
@@ -85,7 +84,7 @@ public class CountdownPhase<T extends LiveCompetition<T>> extends LiveCompetitio
     @Override
     public Resolver resolve() {
         return super.resolve().toBuilder()
-                .define(ResolverKeys.REMAINING_START_TIME, ResolverProvider.simple(Duration.ofSeconds(this.countdown + 1), Util::toTimeString))
+                .define(ResolverKeys.REMAINING_START_TIME, ResolverProvider.dynamic(() -> Duration.ofSeconds(this.countdown + 1), Util::toTimeString))
                 .build();
     }
 }
@@ -7,8 +7,7 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.event.arena.ArenaDrawEvent;
 import org.battleplugins.arena.event.arena.ArenaLoseEvent;
 import org.battleplugins.arena.event.arena.ArenaVictoryEvent;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
+import org.battleplugins.arena.scheduler.ScheduledTask;
 
 import java.time.Duration;
 import java.util.HashSet;
@@ -18,7 +17,7 @@ public class VictoryPhase<T extends LiveCompetition<T>> extends LiveCompetitionP
     @ArenaOption(name = "duration", description = "The number of seconds to remain in the victory condition.", required = true)
     private Duration duration;
 
-    private BukkitTask durationTask;
+    private ScheduledTask durationTask;
 
     @Override
     public void onStart() {
@@ -29,8 +28,8 @@ public class VictoryPhase<T extends LiveCompetition<T>> extends LiveCompetitionP
             return;
         }
 
-        this.durationTask = Bukkit.getScheduler().runTaskLater(
-                this.competition.getArena().getPlugin(),
+        this.durationTask = this.competition.getArena().getPlugin().getArenaScheduler().runTaskLater(
+                this.competition,
                 this::advanceToNextPhase,
                 this.duration.toMillis() / 50
         );
@@ -72,6 +71,9 @@ public class VictoryPhase<T extends LiveCompetition<T>> extends LiveCompetitionP
 
     @Override
     public void onComplete() {
-        this.durationTask = null;
+        if (this.durationTask != null) {
+            this.durationTask.cancel();
+            this.durationTask = null;
+        }
     }
 }
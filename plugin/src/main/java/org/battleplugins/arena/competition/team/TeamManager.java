@@ -7,6 +7,7 @@ import org.battleplugins.arena.competition.map.LiveCompetitionMap;
 import org.battleplugins.arena.competition.map.options.Spawns;
 import org.battleplugins.arena.competition.map.options.TeamSpawns;
 import org.battleplugins.arena.options.Teams;
+import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.StatHolder;
 import org.battleplugins.arena.team.ArenaTeam;
 import org.jetbrains.annotations.Nullable;
@@ -56,11 +57,25 @@ public class TeamManager {
      * @param player the player to join
      */
     public void joinTeam(ArenaPlayer player, ArenaTeam team) {
-        if (player.getTeam() != null) {
-            this.teams.get(player.getTeam()).remove(player);
+        // Pending stat changes are applied to the team totals when they
+        // are announced, so announce them while the player is on the old team
+        player.stats().flush();
+
+        ArenaTeam oldTeam = player.getTeam();
+        if (oldTeam != null && this.teams.get(oldTeam).remove(player)) {
+            TeamStatHolder oldStats = this.stats.get(oldTeam);
+            if (oldStats != null) {
+                oldStats.removePlayer(player);
+            }
+        }
+
+        if (this.teams.get(team).add(player)) {
+            TeamStatHolder stats = this.stats.get(team);
+            if (stats != null) {
+                stats.addPlayer(player);
+            }
         }
 
-        this.teams.get(team).add(player);
         player.setTeam(team);
     }
 
@@ -85,7 +100,14 @@ public class TeamManager {
             return;
         }
 
-        players.remove(player);
+        player.stats().flush();
+        if (players.remove(player)) {
+            TeamStatHolder stats = this.stats.get(team);
+            if (stats != null) {
+                stats.removePlayer(player);
+            }
+        }
+
         player.setTeam(null);
     }
 
@@ -159,9 +181,45 @@ public class TeamManager {
      * @return the stats for the team
      */
     public StatHolder getStats(ArenaTeam team) {
+        return this.getTeamStats(team);
+    }
+
+    /**
+     * Returns the {@link TeamStatHolder} for the given {@link ArenaTeam}.
+     * <p>
+     * The totals of the stats of all players on the team are kept up
+     * to date as players join, leave and have their stats changed, so
+     * reading them does not have to iterate the team.
+     *
+     * @param team the team to get the stats for
+     * @return the stats for the team
+     */
+    public TeamStatHolder getTeamStats(ArenaTeam team) {
         return this.stats.computeIfAbsent(team, e -> new TeamStatHolder(this, team));
     }
 
+    /**
+     * Updates the stat totals of the team the given {@link ArenaPlayer}
+     * is on after one of their stats has changed.
+     *
+     * @param player the player whose stat changed
+     * @param stat the stat that changed
+     * @param oldValue the old value of the stat
+     * @param newValue the new value of the stat
+     * @param <T> the type of the stat
+     */
+    public <T> void onPlayerStatChange(ArenaPlayer player, ArenaStat<T> stat, @Nullable T oldValue, @Nullable T newValue) {
+        ArenaTeam team = player.getTeam();
+        if (team == null || !this.getPlayersOnTeam(team).contains(player)) {
+            return;
+        }
+
+        TeamStatHolder stats = this.stats.get(team);
+        if (stats != null) {
+            stats.onPlayerStatChange(stat, oldValue, newValue);
+        }
+    }
+
     /**
      * Returns whether the player can join the given {@link ArenaTeam}.
      *
@@ -4,23 +4,31 @@ import org.battleplugins.arena.ArenaPlayer;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.StatHolder;
+import org.battleplugins.arena.stat.StatTable;
 import org.battleplugins.arena.team.ArenaTeam;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Function;
 
 public class TeamStatHolder implements StatHolder {
     private final TeamManager teamManager;
     private final ArenaTeam team;
 
-    private final Map<ArenaStat<?>, Object> globalStats = new HashMap<>();
+    private final StatTable globalStats = new StatTable();
+
+    // Running totals of the stats of all players on the team, kept up
+    // to date as players join, leave or have their stats changed
+    private final StatTable playerTotals = new StatTable();
 
     public TeamStatHolder(TeamManager teamManager, ArenaTeam team) {
         this.teamManager = teamManager;
         this.team = team;
+
+        for (ArenaPlayer player : teamManager.getPlayersOnTeam(team)) {
+            this.addPlayer(player);
+        }
     }
 
     @Override
@@ -28,61 +36,40 @@ public class TeamStatHolder implements StatHolder {
         return Optional.ofNullable(this.getStat(stat));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T getStat(ArenaStat<T> stat) {
-        if (this.globalStats.containsKey(stat)) {
-            return (T) this.globalStats.get(stat);
+        if (this.globalStats.has(stat)) {
+            return this.globalStats.get(stat);
         }
 
         if (!Number.class.isAssignableFrom(stat.getType())) {
             throw new IllegalArgumentException("Don't know how to accumulate type " + stat.getType());
         }
 
-        Set<ArenaPlayer> players = this.teamManager.getPlayersOnTeam(this.team);
-        Number total = null;
-        for (ArenaPlayer player : players) {
-            T playerStat = player.getStat(stat);
-            if (playerStat == null) {
-                continue;
-            }
-
-            if (total == null) {
-                total = (Number) playerStat;
-            } else {
-                Class<T> type = stat.getType();
-                if (type.equals(Integer.class)) {
-                    total = total.intValue() + (Integer) playerStat;
-                } else if (type.equals(Double.class)) {
-                    total = total.doubleValue() + (Double) playerStat;
-                } else if (type.equals(Float.class)) {
-                    total = total.floatValue() + (Float) playerStat;
-                } else if (type.equals(Long.class)) {
-                    total = total.longValue() + (Long) playerStat;
-                } else if (type.equals(Short.class)) {
-                    total = total.shortValue() + (Short) playerStat;
-                } else if (type.equals(Byte.class)) {
-                    total = total.byteValue() + (Byte) playerStat;
-                } else {
-                    throw new IllegalArgumentException("Don't know how to accumulate type " + stat.getType());
-                }
-            }
-        }
+        return this.playerTotals.get(stat);
+    }
 
-        return (T) total;
+    /**
+     * Gets the total of the given stat across all players on the team,
+     * ignoring any value set for the team as a whole.
+     *
+     * @param stat the stat to get the total of
+     * @return the total of the stat across all players on the team
+     */
+    public double getPlayerTotal(ArenaStat<? extends Number> stat) {
+        return this.playerTotals.getDouble(stat);
     }
 
     @Override
     public <T> void setStat(ArenaStat<T> stat, T value) {
-        this.globalStats.put(stat, value);
+        this.globalStats.set(stat, value);
     }
 
     @Override
     public <T> void computeStat(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction) {
-        this.globalStats.compute(stat, (key, oldValue) -> {
-            T newValue = computeFunction.apply((T) oldValue);
-            return this.statChange(stat, (T) oldValue, newValue);
-        });
+        T oldValue = this.globalStats.get(stat);
+        T newValue = computeFunction.apply(oldValue);
+        this.globalStats.set(stat, this.statChange(stat, oldValue, newValue));
     }
 
     @Override
@@ -94,6 +81,75 @@ public class TeamStatHolder implements StatHolder {
         return this.team;
     }
 
+    void addPlayer(ArenaPlayer player) {
+        player.forEachStat(stat -> this.addPlayerStat(player, stat, 1));
+    }
+
+    void removePlayer(ArenaPlayer player) {
+        if (this.teamManager.getNumberOfPlayersOnTeam(this.team) == 0) {
+            this.playerTotals.clear();
+            return;
+        }
+
+        // Walk the stats the player actually holds, so custom stats
+        // are subtracted as well as the built-in ones
+        player.forEachStat(stat -> this.addPlayerStat(player, stat, -1));
+    }
+
+    <T> void onPlayerStatChange(ArenaStat<T> stat, @Nullable T oldValue, @Nullable T newValue) {
+        if (Objects.equals(oldValue, newValue) || !Number.class.isAssignableFrom(stat.getType())) {
+            return;
+        }
+
+        if (newValue != null) {
+            this.accumulate(stat, (Number) newValue, 1);
+        }
+
+        if (oldValue != null) {
+            this.accumulate(stat, (Number) oldValue, -1);
+        }
+    }
+
+    private <T> void addPlayerStat(ArenaPlayer player, ArenaStat<T> stat, int sign) {
+        T value = player.getStat(stat);
+        if (value instanceof Number number) {
+            this.accumulate(stat, number, sign);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void accumulate(ArenaStat<T> stat, Number value, int sign) {
+        Class<T> type = stat.getType();
+        if (type.equals(Integer.class)) {
+            this.playerTotals.increment((ArenaStat<Integer>) stat, sign * value.intValue());
+            return;
+        } else if (type.equals(Double.class)) {
+            this.playerTotals.increment((ArenaStat<Double>) stat, sign * value.doubleValue());
+            return;
+        }
+
+        Number total = (Number) this.playerTotals.get(stat);
+        if (total == null) {
+            total = 0;
+        }
+
+        Number newTotal;
+        if (type.equals(Float.class)) {
+            newTotal = total.floatValue() + sign * value.floatValue();
+        } else if (type.equals(Long.class)) {
+            newTotal = total.longValue() + sign * value.longValue();
+        } else if (type.equals(Short.class)) {
+            newTotal = (short) (total.shortValue() + sign * value.shortValue());
+        } else if (type.equals(Byte.class)) {
+            newTotal = (byte) (total.byteValue() + sign * value.byteValue());
+        } else {
+            // Not a type that can be accumulated, which is reported when read
+            return;
+        }
+
+        this.playerTotals.set(stat, (T) newTotal);
+    }
+
     private <T> T statChange(ArenaStat<T> stat, T oldValue, T newValue) {
         ArenaStatChangeEvent<T> event = new ArenaStatChangeEvent<>(this.teamManager.getCompetition(), this, stat, oldValue, newValue);
         this.teamManager.getCompetition().getArena().getEventManager().callEvent(event);
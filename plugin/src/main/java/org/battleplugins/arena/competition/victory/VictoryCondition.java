@@ -38,6 +38,19 @@ public class VictoryCondition<T extends LiveCompetition<T>> implements Competiti
         return Set.of();
     }
 
+    /**
+     * Evaluates whether this condition has been met, and advances
+     * the competition if so.
+     * <p>
+     * This is called by the {@link VictoryManager} at the end of a tick
+     * in which an evaluation was {@link #requestEvaluation() requested},
+     * so checks should be done here rather than in the events which
+     * change the state of the condition.
+     */
+    public void evaluate() {
+
+    }
+
     // Internal methods (cannot be overridden by extending plugins)
 
     public final void start() {
@@ -50,6 +63,10 @@ public class VictoryCondition<T extends LiveCompetition<T>> implements Competiti
         this.onEnd();
     }
 
+    public final void requestEvaluation() {
+        this.competition.getVictoryManager().requestEvaluation();
+    }
+
     public final T getCompetition() {
         return this.competition;
     }
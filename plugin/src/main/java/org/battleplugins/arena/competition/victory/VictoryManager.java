@@ -12,23 +12,31 @@ import org.battleplugins.arena.event.arena.ArenaPhaseStartEvent;
 import org.battleplugins.arena.resolver.Resolvable;
 import org.battleplugins.arena.resolver.Resolver;
 
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Manages the victory conditions of a competition.
+ * <p>
+ * Victory conditions do not advance the competition from within the
+ * events that change their state. Instead, they {@link #requestEvaluation()
+ * request an evaluation}, and all the conditions of the competition are
+ * evaluated together at most once per tick, at the end of the tick, in
+ * the order they are configured in the arena.
  *
  * @param <T> the type of competition
  */
 public class VictoryManager<T extends Competition<T>> implements ArenaListener, CompetitionLike<T>, Resolvable {
-    private final Map<VictoryConditionType<?, ?>, VictoryCondition<?>> victoryConditions = new HashMap<>();
+    private final Map<VictoryConditionType<?, ?>, VictoryCondition<?>> victoryConditions = new LinkedHashMap<>();
 
     private final Arena arena;
     private final T competition;
 
     private boolean closed = false;
+    private boolean started;
+    private boolean evaluationPending;
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public VictoryManager(Arena arena, T competition) {
@@ -54,16 +62,27 @@ public class VictoryManager<T extends Competition<T>> implements ArenaListener,
      * @return the potential victors of the competition
      */
     public Set<ArenaPlayer> identifyPotentialVictors() {
-        Set<ArenaPlayer> victors = new HashSet<>();
+        Set<ArenaPlayer> victors = null;
         int conditionsWithVictors = 0;
         for (VictoryCondition<?> condition : this.victoryConditions.values()) {
-            Set<ArenaPlayer> potentialVictors = new HashSet<>(condition.identifyPotentialVictors());
+            Set<ArenaPlayer> potentialVictors = condition.identifyPotentialVictors();
+            if (potentialVictors.isEmpty()) {
+                continue;
+            }
 
-            // Remove existing victors to avoid double counting
-            potentialVictors.removeAll(victors);
+            if (victors == null) {
+                victors = new HashSet<>(potentialVictors);
+                conditionsWithVictors++;
+                continue;
+            }
+
+            // Only count conditions which add new victors to avoid double counting
+            boolean added = false;
+            for (ArenaPlayer victor : potentialVictors) {
+                added |= victors.add(victor);
+            }
 
-            victors.addAll(potentialVictors);
-            if (!potentialVictors.isEmpty()) {
+            if (added) {
                 conditionsWithVictors++;
             }
         }
@@ -76,7 +95,39 @@ public class VictoryManager<T extends Competition<T>> implements ArenaListener,
             return Set.of();
         }
 
-        return victors;
+        return victors == null ? Set.of() : victors;
+    }
+
+    /**
+     * Requests the victory conditions of the competition to be
+     * evaluated at the end of the current tick. Requesting an
+     * evaluation multiple times in the same tick only results
+     * in a single evaluation.
+     */
+    public void requestEvaluation() {
+        if (this.closed || !this.started || this.evaluationPending) {
+            return;
+        }
+
+        this.evaluationPending = true;
+        this.arena.getPlugin().getArenaScheduler().runAtTickEnd(this::evaluate);
+    }
+
+    private void evaluate() {
+        this.evaluationPending = false;
+
+        for (VictoryCondition<?> condition : this.victoryConditions.values()) {
+            // A previous condition may have already ended the competition
+            if (this.closed || !this.started) {
+                return;
+            }
+
+            try {
+                condition.evaluate();
+            } catch (Throwable e) {
+                this.arena.getPlugin().error("Failed to evaluate victory condition {} in competition {}", condition.getClass().getSimpleName(), this.competition.getClass().getSimpleName(), e);
+            }
+        }
     }
 
     /**
@@ -86,6 +137,7 @@ public class VictoryManager<T extends Competition<T>> implements ArenaListener,
      */
     public void end(boolean closed) {
         this.closed = closed;
+        this.started = false;
 
         for (VictoryCondition<?> condition : this.victoryConditions.values()) {
             condition.end();
@@ -103,6 +155,7 @@ public class VictoryManager<T extends Competition<T>> implements ArenaListener,
     public void onPhaseStart(ArenaPhaseStartEvent event) {
         if (CompetitionPhaseType.VICTORY.equals(event.getPhase().getNextPhase())) {
             // Start the victory conditions
+            this.started = true;
             for (VictoryCondition<?> condition : this.victoryConditions.values()) {
                 condition.start();
             }
@@ -7,11 +7,16 @@ import org.battleplugins.arena.competition.victory.VictoryCondition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.event.ArenaEventHandler;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsChangeEvent;
 import org.battleplugins.arena.stat.ArenaStat;
 import org.battleplugins.arena.stat.ArenaStats;
+import org.battleplugins.arena.stat.StatChange;
 import org.battleplugins.arena.stat.StatHolder;
 import org.battleplugins.arena.team.ArenaTeam;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -29,62 +34,98 @@ public class HighestStatCondition<T extends LiveCompetition<T>> extends VictoryC
 
     private ArenaStat<Number> stat;
 
+    // Holders whose stat changed since the last evaluation, in the order they changed
+    private final Set<StatHolder> changedHolders = new LinkedHashSet<>();
+
     @ArenaEventHandler
     public void onStatChange(ArenaStatChangeEvent<Number> event) {
         if (!event.getStat().equals(this.stat)) {
             return;
         }
 
+        this.onStatChange(event.getStatHolder());
+    }
+
+    @ArenaEventHandler
+    public void onStatsChange(ArenaStatsChangeEvent event) {
+        StatChange<Number> change = event.getChange(this.stat);
+        if (change != null) {
+            this.onStatChange(event.getStatHolder());
+        }
+    }
+
+    private void onStatChange(StatHolder statHolder) {
+        if (this.winAfter == -1) {
+            return;
+        }
+
+        // Checked once the values are stored and team totals are up to date
+        this.changedHolders.add(statHolder);
+        this.requestEvaluation();
+    }
+
+    @Override
+    public void evaluate() {
+        if (this.changedHolders.isEmpty()) {
+            return;
+        }
+
+        // Copy as advancing the phase will clear the changed holders
+        List<StatHolder> changedHolders = List.copyOf(this.changedHolders);
+        this.changedHolders.clear();
+
+        for (StatHolder statHolder : changedHolders) {
+            Set<ArenaPlayer> victors = this.getVictors(statHolder);
+            if (victors != null) {
+                this.advanceToNextPhase(victors);
+                return;
+            }
+        }
+    }
+
+    @Nullable
+    private Set<ArenaPlayer> getVictors(StatHolder statHolder) {
         // Check for team stats. Some games may have modes in which a team wins
         // after the team has collectively retrieved a stat, or a stat that is
         // incremented by team (i.e. control points).
-        StatHolder statHolder = event.getStatHolder();
         if (this.teamStats) {
             if (statHolder instanceof TeamStatHolder teamHolder) {
-                if (this.winAfter != -1 && event.getNewValue().intValue() >= this.winAfter) {
-                    this.advanceToNextPhase(this.competition.getTeamManager().getPlayersOnTeam(teamHolder.getTeam()));
+                Number value = teamHolder.getStat(this.stat);
+                if (value != null && value.intValue() >= this.winAfter) {
+                    return this.competition.getTeamManager().getPlayersOnTeam(teamHolder.getTeam());
                 }
             } else if (statHolder instanceof ArenaPlayer player) {
                 // Check for stats across all players on the team
                 ArenaTeam team = player.getTeam();
                 if (team == null) {
-                    return;
+                    return null;
                 }
 
-                Set<ArenaPlayer> players = this.competition.getTeamManager().getPlayersOnTeam(team);
-                int score = 0;
-                for (ArenaPlayer teamPlayer : players) {
-                    if (teamPlayer == player) {
-                        score += event.getNewValue().intValue();
-                        continue;
-                    }
-
-                    score += teamPlayer.stat(this.stat).orElse(0).intValue();
-                }
-
-                if (this.winAfter != -1 && score >= this.winAfter) {
-                    this.advanceToNextPhase(players);
+                TeamStatHolder teamStats = this.competition.getTeamManager().getTeamStats(team);
+                if ((int) teamStats.getPlayerTotal(this.stat) >= this.winAfter) {
+                    return this.competition.getTeamManager().getPlayersOnTeam(team);
                 }
             }
 
-            return;
+            return null;
         }
 
-        if (statHolder instanceof ArenaPlayer player) {
-            if (this.winAfter != -1 && event.getNewValue().intValue() >= this.winAfter) {
+        if (statHolder instanceof ArenaPlayer player && this.competition.getPlayers().contains(player)) {
+            Number value = player.getStat(this.stat);
+            if (value != null && value.intValue() >= this.winAfter) {
                 // Still need to check if the player is on a team, since we grant
                 // the victory based on whether the team one. If the player is to
                 // win individually, their team should just contain them, or be empty.
                 ArenaTeam team = player.getTeam();
                 if (team == null) {
-                    this.advanceToNextPhase(Set.of(player));
-                    return;
+                    return Set.of(player);
                 }
 
-                Set<ArenaPlayer> playersOnTeam = this.competition.getTeamManager().getPlayersOnTeam(team);
-                this.advanceToNextPhase(playersOnTeam);
+                return this.competition.getTeamManager().getPlayersOnTeam(team);
             }
         }
+
+        return null;
     }
 
     @SuppressWarnings("unchecked")
@@ -96,17 +137,21 @@ public class HighestStatCondition<T extends LiveCompetition<T>> extends VictoryC
         }
 
         this.stat = stat;
+        this.changedHolders.clear();
+    }
+
+    @Override
+    public void onEnd() {
+        this.changedHolders.clear();
     }
 
     @Override
     public Set<ArenaPlayer> identifyPotentialVictors() {
-        return this.competition.getPlayers().stream()
-                .sorted((player1, player2) ->
-                        player2.stat(this.stat).orElse(0).intValue() - player1.stat(this.stat).orElse(0).intValue()
-                )
+        return this.competition.getLeaderboardManager().getLeaderboard(this.stat)
+                .getTopPlayers(1) // Limit number of victors to 1
+                .stream()
                 // No need to check win after here, since it will be done earlier if they should win
-                .filter(player -> (int) player.stat(this.stat).orElse(0) > 0)
-                .limit(1) // Limit number of victors to 1
+                .filter(player -> player.stat(this.stat).orElse(0).intValue() > 0)
                 .flatMap(player -> {
                     // Still need to check if the player is on a team, since we grant
                     // the victory based on whether the team won. If the player is to
@@ -8,13 +8,24 @@ import org.battleplugins.arena.competition.victory.VictoryCondition;
 import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.event.ArenaEventHandler;
 import org.battleplugins.arena.event.player.ArenaDeathEvent;
+import org.battleplugins.arena.event.player.ArenaJoinEvent;
 import org.battleplugins.arena.event.player.ArenaLeaveEvent;
+import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
+import org.battleplugins.arena.event.player.ArenaSpectateEvent;
+import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsChangeEvent;
+import org.battleplugins.arena.event.player.ArenaTeamJoinEvent;
+import org.battleplugins.arena.event.player.ArenaTeamLeaveEvent;
 import org.battleplugins.arena.stat.ArenaStats;
+import org.battleplugins.arena.stat.StatChange;
 import org.battleplugins.arena.team.ArenaTeam;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCondition<T> {
 
@@ -23,45 +34,106 @@ public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCo
 
     private boolean active;
 
+    // The team each alive player was counted towards, and the number
+    // of alive players on each team. These are kept up to date from
+    // events while the condition is active, so checking does not
+    // need to go through every player.
+    private final Map<ArenaPlayer, ArenaTeam> alivePlayers = new HashMap<>();
+    private final Map<ArenaTeam, Integer> aliveCounts = new HashMap<>();
+
     @ArenaEventHandler
     public void onDeath(ArenaDeathEvent event) {
-        this.checkTeamsAlive();
+        this.update(event.getArenaPlayer());
+        this.requestEvaluation();
     }
 
     @ArenaEventHandler
     public void onLeave(ArenaLeaveEvent event) {
-        this.checkTeamsAlive();
+        this.update(event.getArenaPlayer());
+        this.requestEvaluation();
+    }
+
+    @ArenaEventHandler
+    public void onLivesExhaust(ArenaLivesExhaustEvent event) {
+        this.update(event.getArenaPlayer());
+    }
+
+    @ArenaEventHandler
+    public void onJoin(ArenaJoinEvent event) {
+        this.update(event.getArenaPlayer());
+    }
+
+    @ArenaEventHandler
+    public void onSpectate(ArenaSpectateEvent event) {
+        this.update(event.getArenaPlayer());
+    }
+
+    @ArenaEventHandler
+    public void onTeamJoin(ArenaTeamJoinEvent event) {
+        // Called before the team of the player is set
+        this.update(event.getArenaPlayer(), event.getTeam(), deaths(event.getArenaPlayer()));
+    }
+
+    @ArenaEventHandler
+    public void onTeamLeave(ArenaTeamLeaveEvent event) {
+        // Called before the team of the player is set
+        this.update(event.getArenaPlayer(), null, deaths(event.getArenaPlayer()));
+    }
+
+    @ArenaEventHandler
+    public void onStatChange(ArenaStatChangeEvent<?> event) {
+        // Called before the new value is stored
+        if (event.getStat() == ArenaStats.DEATHS && event.getStatHolder() instanceof ArenaPlayer player) {
+            this.update(player, player.getTeam(), event.getNewValue() == null ? 0 : (int) event.getNewValue());
+        }
+    }
+
+    @ArenaEventHandler
+    public void onStatsChange(ArenaStatsChangeEvent event) {
+        StatChange<Integer> change = event.getChange(ArenaStats.DEATHS);
+        if (change != null && event.getStatHolder() instanceof ArenaPlayer player) {
+            this.update(player, player.getTeam(), change.newValue() == null ? 0 : change.newValue());
+        }
     }
 
     @Override
     public void onStart() {
         this.active = true;
+        this.rebuild();
     }
 
     @Override
     public void onEnd() {
         this.active = false;
+
+        this.alivePlayers.clear();
+        this.aliveCounts.clear();
     }
 
     @Override
     public Set<ArenaPlayer> identifyPotentialVictors() {
-        AliveTeamsResult aliveTeams = this.getAliveTeams();
-        if (aliveTeams.aliveTeams() <= this.amount) {
-            return aliveTeams.players();
+        if (!this.active) {
+            this.rebuild();
+        }
+
+        if (this.getAliveTeamCount() <= this.amount) {
+            return this.getAlivePlayers();
         }
 
         return Set.of();
     }
 
-    private void checkTeamsAlive() {
+    @Override
+    public void evaluate() {
         if (!this.active) {
             return;
         }
 
-        AliveTeamsResult aliveTeams = this.getAliveTeams();
-        Set<ArenaPlayer> victors = aliveTeams.aliveTeams() <= this.amount ? aliveTeams.players() : Set.of();
-        if (!victors.isEmpty() || aliveTeams.aliveTeams() == 0) {
-            this.advanceToNextPhase(victors);
+        int aliveTeams = this.getAliveTeamCount();
+        if (aliveTeams == 0) {
+            this.advanceToNextPhase(Set.of());
+        } else if (aliveTeams <= this.amount) {
+            this.advanceToNextPhase(this.getAlivePlayers());
         }
 
         // If the game has no players or there are no alive teams, just end the game
@@ -71,53 +143,87 @@ public class TeamsAliveCondition<T extends LiveCompetition<T>> extends VictoryCo
     }
 
     public AliveTeamsResult getAliveTeams() {
-        // If this is a non-team game, then we can just check the
-        // deaths on the number of players instead
-        Arena arena = this.competition.getArena();
-        boolean livesEnabled = arena.getLives() != null && arena.getLives().isEnabled();
-        if (arena.getTeams().isNonTeamGame()) {
-            Set<ArenaPlayer> alivePlayers = new HashSet<>();
-            int aliveTeams = 0;
-            for (ArenaPlayer player : this.competition.getPlayers()) {
-                if (!isAlive(player, livesEnabled)) {
-                    continue;
-                }
-
-                alivePlayers.add(player);
-                aliveTeams++;
-            }
-
-            return new AliveTeamsResult(alivePlayers, aliveTeams);
+        if (!this.active) {
+            this.rebuild();
+        }
+
+        return new AliveTeamsResult(this.getAlivePlayers(), this.getAliveTeamCount());
+    }
+
+    private Set<ArenaPlayer> getAlivePlayers() {
+        Set<ArenaPlayer> players = new HashSet<>(this.alivePlayers.keySet());
+
+        // Players without a team count towards an alive team in a team
+        // game, but are not part of any team that can win
+        if (!this.isNonTeamGame() && this.aliveCounts.containsKey(null)) {
+            players.removeIf(player -> this.alivePlayers.get(player) == null);
         }
 
-        Set<ArenaTeam> aliveTeams = new HashSet<>();
+        return players;
+    }
+
+    private int getAliveTeamCount() {
+        // In a non-team game, every player is their own team
+        return this.isNonTeamGame() ? this.alivePlayers.size() : this.aliveCounts.size();
+    }
+
+    private void rebuild() {
+        this.alivePlayers.clear();
+        this.aliveCounts.clear();
+
         for (ArenaPlayer player : this.competition.getPlayers()) {
-            if (!isAlive(player, livesEnabled)) {
-                continue;
-            }
+            this.track(player, player.getTeam(), deaths(player));
+        }
+    }
+
+    private void update(ArenaPlayer player) {
+        this.update(player, player.getTeam(), deaths(player));
+    }
 
-            aliveTeams.add(player.getTeam());
+    private void update(ArenaPlayer player, @Nullable ArenaTeam team, int deaths) {
+        // Outside the active window, queries rebuild from the players instead
+        if (!this.active) {
+            return;
         }
 
-        return new AliveTeamsResult(
-                aliveTeams.stream()
-                        .flatMap(team -> this.competition.getTeamManager()
-                                .getPlayersOnTeam(team)
-                                .stream()
-                                .filter(player -> isAlive(player, livesEnabled))
-                        )
-                        .collect(Collectors.toSet()),
-                aliveTeams.size()
-        );
+        this.track(player, team, deaths);
     }
 
-    private static boolean isAlive(ArenaPlayer player, boolean livesEnabled) {
+    private void track(ArenaPlayer player, @Nullable ArenaTeam team, int deaths) {
+        boolean alive = this.competition.getPlayers().contains(player) && this.isAlive(player, deaths);
+        boolean wasAlive = this.alivePlayers.containsKey(player);
+        ArenaTeam previousTeam = this.alivePlayers.get(player);
+        if (alive == wasAlive && (!alive || Objects.equals(team, previousTeam))) {
+            return;
+        }
+
+        if (wasAlive) {
+            this.alivePlayers.remove(player);
+            this.aliveCounts.computeIfPresent(previousTeam, (key, count) -> count == 1 ? null : count - 1);
+        }
+
+        if (alive) {
+            this.alivePlayers.put(player, team);
+            this.aliveCounts.merge(team, 1, Integer::sum);
+        }
+    }
+
+    private boolean isAlive(ArenaPlayer player, int deaths) {
         if (player.getRole() == PlayerRole.SPECTATING) {
             return false;
         }
 
-        int deaths = player.stat(ArenaStats.DEATHS).orElse(0);
-        return (!livesEnabled || deaths < player.getArena().getLives().getLives()) && (livesEnabled || deaths <= 0);
+        Arena arena = this.competition.getArena();
+        boolean livesEnabled = arena.getLives() != null && arena.getLives().isEnabled();
+        return (!livesEnabled || deaths < arena.getLives().getLives()) && (livesEnabled || deaths <= 0);
+    }
+
+    private boolean isNonTeamGame() {
+        return this.competition.getArena().getTeams().isNonTeamGame();
+    }
+
+    private static int deaths(ArenaPlayer player) {
+        return player.stat(ArenaStats.DEATHS).orElse(0);
     }
 
     public record AliveTeamsResult(Set<ArenaPlayer> players, int aliveTeams) {
@@ -6,8 +6,8 @@ import org.battleplugins.arena.config.ArenaOption;
 import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.resolver.ResolverKeys;
 import org.battleplugins.arena.resolver.ResolverProvider;
+import org.battleplugins.arena.scheduler.ScheduledTask;
 import org.battleplugins.arena.util.Util;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.time.Duration;
 import java.util.Set;
@@ -18,7 +18,7 @@ public class TimeLimitCondition<T extends LiveCompetition<T>> extends VictoryCon
     private Duration timeLimit;
 
     private long startTime = -1;
-    private BukkitTask task;
+    private ScheduledTask task;
 
     @Override
     public void onStart() {
@@ -27,7 +27,7 @@ public class TimeLimitCondition<T extends LiveCompetition<T>> extends VictoryCon
         }
 
         this.startTime = System.currentTimeMillis();
-        this.task = this.competition.getArena().getPlugin().getServer().getScheduler().runTaskLater(this.competition.getArena().getPlugin(), () -> {
+        this.task = this.competition.getArena().getPlugin().getArenaScheduler().runTaskLater(this.competition, () -> {
             this.advanceToNextPhase(Set.of());
         }, this.timeLimit.toMillis() / 50L);
     }
@@ -57,8 +57,8 @@ public class TimeLimitCondition<T extends LiveCompetition<T>> extends VictoryCon
     @Override
     public Resolver resolve() {
         return super.resolve().toBuilder()
-                .define(ResolverKeys.TIME_REMAINING, ResolverProvider.simple(this.getTimeRemaining(), Util::toTimeString))
-                .define(ResolverKeys.TIME_REMAINING_SHORT, ResolverProvider.simple(this.getTimeRemaining(), Util::toTimeStringShort))
+                .define(ResolverKeys.TIME_REMAINING, ResolverProvider.dynamic(this::getTimeRemaining, Util::toTimeString))
+                .define(ResolverKeys.TIME_REMAINING_SHORT, ResolverProvider.dynamic(this::getTimeRemaining, Util::toTimeStringShort))
                 .build();
     }
 }
@@ -7,18 +7,17 @@ import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.Competition;
 import org.battleplugins.arena.competition.CompetitionLike;
 import org.battleplugins.arena.competition.LiveCompetition;
-import org.battleplugins.arena.event.action.EventAction;
-import org.battleplugins.arena.event.action.types.DelayAction;
+import org.battleplugins.arena.event.action.EventActionPlan;
 import org.battleplugins.arena.event.arena.ArenaLoseEvent;
 import org.battleplugins.arena.event.arena.ArenaVictoryEvent;
 import org.battleplugins.arena.event.player.ArenaPlayerEvent;
-import org.battleplugins.arena.resolver.Resolver;
 import org.battleplugins.arena.util.PolymorphicHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
-import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockCanBuildEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -31,8 +30,6 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,6 +70,11 @@ public class ArenaEventManager {
         }
     };
 
+    private final Map<ArenaEventType<?>, EventActionPlan> arenaActionPlans = new HashMap<>();
+    private final Map<RouteKey, ArenaEventRoute> routes = new HashMap<>();
+    private final Listener routeListener = new Listener() {
+    };
+
     private final List<ArenaListener> trackedListeners = new ArrayList<>();
     private final Arena arena;
 
@@ -120,6 +122,11 @@ public class ArenaEventManager {
             }
 
             Competition<?> competition = event.getCompetition();
+            EventActionPlan plan = this.getActionPlan(competition, eventType);
+            if (plan.isEmpty()) {
+                return event;
+            }
+
             Collection<ArenaPlayer> players;
             if (event instanceof ArenaPlayerEvent arenaPlayerEvent) {
                 players = List.of(arenaPlayerEvent.getArenaPlayer());
@@ -131,64 +138,30 @@ public class ArenaEventManager {
                 players = List.of();
             }
 
-            List<EventAction> actions = new ArrayList<>();
-            List<EventAction> arenaActions = this.arena.getEventActions().get(eventType);
-            if (arenaActions != null) {
-                actions.addAll(arenaActions);
-            }
-
-            if (competition instanceof LiveCompetition<?> liveCompetition) {
-                List<EventAction> competitionActions = liveCompetition.getPhaseManager().getCurrentPhase().getEventActions().get(eventType);
-                if (competitionActions != null) {
-                    actions.addAll(competitionActions);
-                }
-            }
-
-            if (actions.isEmpty()) {
-                return event;
-            }
-
-            this.pollActions(event, competition, actions.iterator(), players);
+            plan.execute(this.arena, competition, event, players);
         }
 
         return event;
     }
 
-    private <T extends Event & ArenaEvent> void pollActions(T event, Competition<?> competition, Iterator<EventAction> iterator, Collection<ArenaPlayer> players) {
-        while (iterator.hasNext()) {
-            EventAction action = iterator.next();
-            if (!Bukkit.isStopping() && action instanceof DelayAction delayAction) {
-                Bukkit.getScheduler().runTaskLater(BattleArena.getInstance(), () -> this.pollActions(event, competition, iterator, players), delayAction.getTicks());
-                return;
-            }
-
-            try {
-                action.preProcess(this.arena, competition, event);
-            } catch (Throwable e) {
-                this.arena.getPlugin().warn("An error occurred pre-processing event action {}", action, e);
-                return;
-            }
-
-            for (ArenaPlayer player : new HashSet<>(players)) {
-                // Resolve with ArenaPlayer context
-                Resolver.Builder resolver = player.resolve().toBuilder();
-                event.resolve().mergeInto(resolver);
-
-                try {
-                    action.call(player, resolver.build());
-                } catch (Throwable e) {
-                    this.arena.getPlugin().warn("An error occurred calling event action {}", action, e);
-                    return;
-                }
-            }
+    /**
+     * Returns whether any event actions would be run when
+     * the given event type is called in the given competition.
+     *
+     * @param competition the competition the event would be called in
+     * @param eventType the event type
+     * @return whether any actions would be run for the event type
+     */
+    public boolean hasActions(@Nullable Competition<?> competition, ArenaEventType<?> eventType) {
+        return !this.getActionPlan(competition, eventType).isEmpty();
+    }
 
-            try {
-                action.postProcess(this.arena, competition, event);
-            } catch (Throwable e) {
-                this.arena.getPlugin().warn("An error occurred post-processing event action {}", action, e);
-                return;
-            }
+    private EventActionPlan getActionPlan(@Nullable Competition<?> competition, ArenaEventType<?> eventType) {
+        if (competition instanceof LiveCompetition<?> liveCompetition && liveCompetition.getPhaseManager().getCurrentPhase() != null) {
+            return liveCompetition.getPhaseManager().getCurrentPhase().getActionPlan(eventType);
         }
+
+        return this.arenaActionPlans.computeIfAbsent(eventType, type -> EventActionPlan.compile(this.arena.getEventActions().get(type)));
     }
 
     /**
@@ -199,6 +172,7 @@ public class ArenaEventManager {
     public void registerEvents(ArenaListener listener) {
         this.trackedListeners.add(listener);
 
+        Competition<?> competition = listener instanceof CompetitionLike<?> like ? like.getCompetition() : null;
         for (Method method : listener.getClass().getDeclaredMethods()) {
             method.setAccessible(true);
 
@@ -220,84 +194,26 @@ public class ArenaEventManager {
                 continue;
             }
 
-            Bukkit.getPluginManager().registerEvent((Class<? extends Event>) eventClass, listener, eventHandler.priority(), (eventListener, event) -> {
-                Pair<Arena, Competition<?>> pair = this.extractContext(event);
-                if (pair == null) {
-                    return;
-                }
-
-                Arena arena = pair.getKey();
-                Competition<?> competition = pair.getValue();
-
-                // Only call the event if the arena matches
-                if (!arena.equals(this.arena)) {
-                    return;
-                }
+            RegisteredArenaHandler handler;
+            try {
+                handler = RegisteredArenaHandler.create(this, listener, method, eventHandler.ignoreCancelled());
+            } catch (IllegalAccessException e) {
+                this.arena.getPlugin().warn("Event method {} in {} could not be accessed. Not registering.", method.getName(), listener.getClass(), e);
+                continue;
+            }
 
-                // We are listening in a Competition, so only call the event if the Competition matches
-                if (listener instanceof CompetitionLike<?> like && !like.getCompetition().equals(competition)) {
-                    return;
-                }
+            if (handler == null) {
+                this.arena.getPlugin().warn("Event method {} in {} has an unsupported signature. Not registering.", method.getName(), listener.getClass());
+                continue;
+            }
 
-                // Ensure args are the same
-                if (!eventClass.isAssignableFrom(event.getClass())) {
-                    return;
-                }
+            ArenaEventRoute route = this.routes.computeIfAbsent(new RouteKey((Class<? extends Event>) eventClass, eventHandler.priority()), key -> {
+                ArenaEventRoute newRoute = new ArenaEventRoute(this, key.eventClass());
+                Bukkit.getPluginManager().registerEvent(key.eventClass(), this.routeListener, key.priority(), newRoute, BattleArena.getInstance(), false);
+                return newRoute;
+            });
 
-                if (method.getParameterCount() == 1) {
-                    try {
-                        method.invoke(eventListener, event);
-                    } catch (Exception e) {
-                        throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                    }
-                } else if (method.getParameterCount() == 2) {
-                    // BattleArena offers a bit of flexibility with the second parameter.
-                    // Events that are just normal ArenaEvents can have a second parameter be
-                    // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
-                    // an ArenaPlayer or a Competition.
-                    Class<?> parameterType = method.getParameterTypes()[1];
-                    if (Competition.class.isAssignableFrom(parameterType)) {
-                        try {
-                            method.invoke(eventListener, event, competition);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaEvent: " + eventClass);
-                        }
-                    } else if (ArenaPlayer.class.isAssignableFrom(parameterType)) {
-                        if (ArenaPlayerEvent.class.isAssignableFrom(eventClass)) {
-                            try {
-                                method.invoke(eventListener, event, ((ArenaPlayerEvent) event).getArenaPlayer());
-                                return;
-                            } catch (Exception e) {
-                                throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                            }
-                        }
-
-                        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(eventClass);
-                        if (eventPlayerFunction == null) {
-                            this.arena.getPlugin().warn("Could not find event player function for event {}", eventClass);
-                            return;
-                        }
-
-                        Player player = eventPlayerFunction.apply(event);
-                        if (player == null) {
-                            this.arena.getPlugin().warn("Could not find player for event {}", eventClass);
-                            return;
-                        }
-
-                        ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
-                        if (arenaPlayer == null) {
-                            this.arena.getPlugin().warn("Could not find ArenaPlayer for event {}", eventClass);
-                            return;
-                        }
-
-                        try {
-                            method.invoke(eventListener, event, arenaPlayer);
-                        } catch (Exception e) {
-                            throw new EventException(e, "Error executing ArenaPlayerEvent: " + eventClass);
-                        }
-                    }
-                }
-            }, BattleArena.getInstance(), eventHandler.ignoreCancelled());
+            route.register(competition, handler);
         }
     }
 
@@ -309,6 +225,11 @@ public class ArenaEventManager {
     public void unregisterEvents(ArenaListener listener) {
         HandlerList.unregisterAll(listener);
         this.trackedListeners.remove(listener);
+
+        Competition<?> competition = listener instanceof CompetitionLike<?> like ? like.getCompetition() : null;
+        for (ArenaEventRoute route : this.routes.values()) {
+            route.unregister(competition, listener);
+        }
     }
 
     /**
@@ -320,10 +241,23 @@ public class ArenaEventManager {
         }
 
         this.trackedListeners.clear();
+
+        HandlerList.unregisterAll(this.routeListener);
+        this.routes.clear();
     }
 
     @Nullable
-    private Pair<Arena, Competition<?>> extractContext(Event event) {
+    static Player resolvePlayer(Event event) {
+        Function<Event, Player> eventPlayerFunction = PLAYER_EVENT_RESOLVERS.get(event.getClass());
+        if (eventPlayerFunction == null) {
+            return null;
+        }
+
+        return eventPlayerFunction.apply(event);
+    }
+
+    @Nullable
+    Pair<Arena, Competition<?>> extractContext(Event event) {
         if (event instanceof ArenaEvent arenaEvent) {
             return Pair.of(arenaEvent.getArena(), arenaEvent.getCompetition());
         }
@@ -361,4 +295,7 @@ public class ArenaEventManager {
 
         return null;
     }
+
+    private record RouteKey(Class<? extends Event> eventClass, EventPriority priority) {
+    }
 }
@@ -0,0 +1,146 @@
+package org.battleplugins.arena.event;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.competition.Competition;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The single Bukkit {@link EventExecutor} for an event class and
+ * {@link EventPriority} within an {@link Arena}.
+ * <p>
+ * Rather than registering a Bukkit handler for every {@link ArenaEventHandler}
+ * of every competition, the {@link Competition} of an event is resolved once
+ * and only the handlers registered for that competition are called.
+ * <p>
+ * Handlers for the whole arena and handlers for the competition are
+ * called in the order they were registered in, as they would be if each
+ * of them was registered with Bukkit.
+ */
+final class ArenaEventRoute implements EventExecutor {
+    private final List<Registration> arenaHandlers = new CopyOnWriteArrayList<>();
+    private final Map<Competition<?>, List<Registration>> competitionHandlers = new ConcurrentHashMap<>();
+    private final AtomicLong nextOrder = new AtomicLong();
+
+    private final ArenaEventManager eventManager;
+    private final Class<? extends Event> eventClass;
+
+    ArenaEventRoute(ArenaEventManager eventManager, Class<? extends Event> eventClass) {
+        this.eventManager = eventManager;
+        this.eventClass = eventClass;
+    }
+
+    /**
+     * Registers a handler to this route.
+     *
+     * @param competition the competition the handler is isolated to, or
+     *                    null if the handler listens for the whole arena
+     * @param handler the handler to register
+     */
+    public void register(@Nullable Competition<?> competition, RegisteredArenaHandler handler) {
+        Registration registration = new Registration(handler, this.nextOrder.getAndIncrement());
+        if (competition == null) {
+            this.arenaHandlers.add(registration);
+        } else {
+            this.competitionHandlers.computeIfAbsent(competition, key -> new CopyOnWriteArrayList<>()).add(registration);
+        }
+    }
+
+    /**
+     * Unregisters all handlers belonging to the given listener.
+     *
+     * @param competition the competition the listener is isolated to, or
+     *                    null if the listener listens for the whole arena
+     * @param listener the listener to unregister
+     */
+    public void unregister(@Nullable Competition<?> competition, ArenaListener listener) {
+        if (competition == null) {
+            this.arenaHandlers.removeIf(registration -> registration.handler().getListener() == listener);
+            return;
+        }
+
+        this.competitionHandlers.computeIfPresent(competition, (key, handlers) -> {
+            handlers.removeIf(registration -> registration.handler().getListener() == listener);
+            return handlers.isEmpty() ? null : handlers;
+        });
+    }
+
+    @Override
+    public void execute(@NotNull Listener listener, @NotNull Event event) {
+        if (this.arenaHandlers.isEmpty() && this.competitionHandlers.isEmpty()) {
+            return;
+        }
+
+        // Handler lists can be shared between an event and its subclasses
+        if (!this.eventClass.isInstance(event)) {
+            return;
+        }
+
+        Pair<Arena, Competition<?>> pair = this.eventManager.extractContext(event);
+        if (pair == null) {
+            return;
+        }
+
+        // Only call the event if the arena matches
+        if (!this.eventManager.getArena().equals(pair.getKey())) {
+            return;
+        }
+
+        Competition<?> competition = pair.getValue();
+        List<Registration> handlers = competition == null ? null : this.competitionHandlers.get(competition);
+        if (handlers == null) {
+            for (Registration registration : this.arenaHandlers) {
+                this.dispatch(registration.handler(), event, competition);
+            }
+
+            return;
+        }
+
+        // Both lists are in registration order, so merge them to call
+        // every handler in the order it was registered in
+        Iterator<Registration> arenaIterator = this.arenaHandlers.iterator();
+        Iterator<Registration> competitionIterator = handlers.iterator();
+        Registration arenaNext = arenaIterator.hasNext() ? arenaIterator.next() : null;
+        Registration competitionNext = competitionIterator.hasNext() ? competitionIterator.next() : null;
+        while (arenaNext != null || competitionNext != null) {
+            if (competitionNext == null || (arenaNext != null && arenaNext.order() < competitionNext.order())) {
+                this.dispatch(arenaNext.handler(), event, competition);
+                arenaNext = arenaIterator.hasNext() ? arenaIterator.next() : null;
+            } else {
+                this.dispatch(competitionNext.handler(), event, competition);
+                competitionNext = competitionIterator.hasNext() ? competitionIterator.next() : null;
+            }
+        }
+    }
+
+    private void dispatch(RegisteredArenaHandler handler, Event event, @Nullable Competition<?> competition) {
+        if (handler.isIgnoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+            return;
+        }
+
+        try {
+            handler.invoke(event, competition);
+        } catch (EventException e) {
+            this.eventManager.getArena().getPlugin().error("Could not pass event {} to {}", event.getEventName(), handler, e.getCause());
+        } catch (Throwable e) {
+            this.eventManager.getArena().getPlugin().error("Could not pass event {} to {}", event.getEventName(), handler, e);
+        }
+    }
+
+    private record Registration(RegisteredArenaHandler handler, long order) {
+    }
+}
@@ -15,6 +15,7 @@ import org.battleplugins.arena.event.player.ArenaLivesExhaustEvent;
 import org.battleplugins.arena.event.player.ArenaRespawnEvent;
 import org.battleplugins.arena.event.player.ArenaSpectateEvent;
 import org.battleplugins.arena.event.player.ArenaStatChangeEvent;
+import org.battleplugins.arena.event.player.ArenaStatsChangeEvent;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
@@ -44,6 +45,7 @@ public final class ArenaEventType<T extends ArenaEvent> {
     public static final ArenaEventType<ArenaSpectateEvent> ON_SPECTATE = new ArenaEventType<>("on-spectate", ArenaSpectateEvent.class);
     public static final ArenaEventType<ArenaPhaseStartEvent> ON_START = new ArenaEventType<>("on-start", ArenaPhaseStartEvent.class);
     public static final ArenaEventType<ArenaStatChangeEvent> ON_STAT_CHANGE = new ArenaEventType<>("on-stat-change", ArenaStatChangeEvent.class);
+    public static final ArenaEventType<ArenaStatsChangeEvent> ON_STATS_CHANGE = new ArenaEventType<>("on-stats-change", ArenaStatsChangeEvent.class);
     public static final ArenaEventType<ArenaVictoryEvent> ON_VICTORY = new ArenaEventType<>("on-victory", ArenaVictoryEvent.class);
 
     private final String name;
@@ -0,0 +1,171 @@
+package org.battleplugins.arena.event;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.event.player.ArenaPlayerEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * An {@link ArenaEventHandler} method bound to the {@link ArenaListener}
+ * it was declared in.
+ * <p>
+ * The signature of the method is classified once upon registration and
+ * the method is bound to a {@link MethodHandle}, so dispatching an event
+ * does not go through reflection.
+ */
+final class RegisteredArenaHandler {
+    private static final MethodType EVENT_TYPE = MethodType.methodType(void.class, Event.class);
+    private static final MethodType EVENT_CONTEXT_TYPE = MethodType.methodType(void.class, Event.class, Object.class);
+
+    private final ArenaEventManager eventManager;
+    private final ArenaListener listener;
+    private final String name;
+    private final Class<?> eventClass;
+    private final Signature signature;
+    private final MethodHandle invoker;
+    private final boolean ignoreCancelled;
+
+    private RegisteredArenaHandler(ArenaEventManager eventManager, ArenaListener listener, Method method, Class<?> eventClass,
+                                   Signature signature, MethodHandle invoker, boolean ignoreCancelled) {
+        this.eventManager = eventManager;
+        this.listener = listener;
+        this.name = listener.getClass().getName() + "#" + method.getName();
+        this.eventClass = eventClass;
+        this.signature = signature;
+        this.invoker = invoker;
+        this.ignoreCancelled = ignoreCancelled;
+    }
+
+    /**
+     * Creates a new handler for the given method.
+     *
+     * @param eventManager the event manager the handler is registered in
+     * @param listener the listener the method is declared in
+     * @param method the event handler method
+     * @param ignoreCancelled whether cancelled events should be ignored
+     * @return the new handler, or null if the method signature is not supported
+     * @throws IllegalAccessException if the method cannot be accessed
+     */
+    @Nullable
+    static RegisteredArenaHandler create(ArenaEventManager eventManager, ArenaListener listener, Method method, boolean ignoreCancelled) throws IllegalAccessException {
+        Signature signature = Signature.classify(method);
+        if (signature == null) {
+            return null;
+        }
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(listener);
+        }
+
+        MethodHandle invoker = handle.asType(signature == Signature.EVENT ? EVENT_TYPE : EVENT_CONTEXT_TYPE);
+        return new RegisteredArenaHandler(eventManager, listener, method, method.getParameterTypes()[0], signature, invoker, ignoreCancelled);
+    }
+
+    public ArenaListener getListener() {
+        return this.listener;
+    }
+
+    public boolean isIgnoreCancelled() {
+        return this.ignoreCancelled;
+    }
+
+    public void invoke(Event event, Competition<?> competition) throws EventException {
+        try {
+            switch (this.signature) {
+                case EVENT -> this.invoker.invokeExact(event);
+                case EVENT_COMPETITION -> this.invoker.invokeExact(event, (Object) competition);
+                case EVENT_ARENA_PLAYER -> this.invoker.invokeExact(event, (Object) ((ArenaPlayerEvent) event).getArenaPlayer());
+                case EVENT_PLAYER -> {
+                    ArenaPlayer arenaPlayer = this.resolveArenaPlayer(event);
+                    if (arenaPlayer != null) {
+                        this.invoker.invokeExact(event, (Object) arenaPlayer);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            throw new EventException(e, "Error executing ArenaEvent: " + this.eventClass);
+        }
+    }
+
+    @Nullable
+    private ArenaPlayer resolveArenaPlayer(Event event) {
+        Player player = ArenaEventManager.resolvePlayer(event);
+        if (player == null) {
+            this.eventManager.getArena().getPlugin().warn("Could not find player for event {}", this.eventClass);
+            return null;
+        }
+
+        ArenaPlayer arenaPlayer = ArenaPlayer.getArenaPlayer(player);
+        if (arenaPlayer == null) {
+            this.eventManager.getArena().getPlugin().warn("Could not find ArenaPlayer for event {}", this.eventClass);
+            return null;
+        }
+
+        return arenaPlayer;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * The supported signatures of an {@link ArenaEventHandler} method.
+     */
+    enum Signature {
+        /**
+         * The method only accepts the event.
+         */
+        EVENT,
+        /**
+         * The method accepts the event and the {@link Competition} it occurred in.
+         */
+        EVENT_COMPETITION,
+        /**
+         * The method accepts an {@link ArenaPlayerEvent} and its {@link ArenaPlayer}.
+         */
+        EVENT_ARENA_PLAYER,
+        /**
+         * The method accepts a Bukkit event and the {@link ArenaPlayer} resolved
+         * from the {@link Player} of the event.
+         */
+        EVENT_PLAYER;
+
+        @Nullable
+        static Signature classify(Method method) {
+            if (method.getParameterCount() == 1) {
+                return EVENT;
+            }
+
+            if (method.getParameterCount() != 2) {
+                return null;
+            }
+
+            // BattleArena offers a bit of flexibility with the second parameter.
+            // Events that are just normal ArenaEvents can have a second parameter be
+            // a Competition, whereas a ArenaPlayerEvent can have a second parameter be
+            // an ArenaPlayer or a Competition.
+            Class<?> eventClass = method.getParameterTypes()[0];
+            Class<?> parameterType = method.getParameterTypes()[1];
+            if (Competition.class.isAssignableFrom(parameterType)) {
+                return EVENT_COMPETITION;
+            }
+
+            if (ArenaPlayer.class.isAssignableFrom(parameterType)) {
+                return ArenaPlayerEvent.class.isAssignableFrom(eventClass) ? EVENT_ARENA_PLAYER : EVENT_PLAYER;
+            }
+
+            return null;
+        }
+    }
+}
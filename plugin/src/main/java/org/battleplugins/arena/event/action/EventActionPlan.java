@@ -0,0 +1,226 @@
+package org.battleplugins.arena.event.action;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.event.ArenaEvent;
+import org.battleplugins.arena.event.ArenaEventType;
+import org.battleplugins.arena.event.action.types.DelayAction;
+import org.battleplugins.arena.resolver.Resolver;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, precompiled sequence of {@link EventAction actions}
+ * that are run when an {@link ArenaEventType} is called.
+ * <p>
+ * Plans are compiled once, either for an {@link Arena} or for a
+ * competition phase when it starts, rather than every time an event
+ * is called. When a plan is executed, the actions are run in a single
+ * batch over all the players, and each player is resolved only once
+ * per run of actions between delays rather than once per action.
+ */
+public final class EventActionPlan {
+    private static final EventActionPlan EMPTY = new EventActionPlan(List.of());
+
+    private final List<EventAction> actions;
+
+    private EventActionPlan(List<EventAction> actions) {
+        this.actions = actions;
+    }
+
+    /**
+     * Gets the actions in this plan, in the order they are run.
+     *
+     * @return the actions in this plan
+     */
+    public List<EventAction> getActions() {
+        return this.actions;
+    }
+
+    /**
+     * Returns whether this plan has no actions.
+     *
+     * @return whether this plan has no actions
+     */
+    public boolean isEmpty() {
+        return this.actions.isEmpty();
+    }
+
+    /**
+     * Executes this plan for the given players.
+     * <p>
+     * Players that are no longer part of the given collection by the time
+     * an action runs (i.e. they left during an earlier action) are skipped.
+     * After a {@link DelayAction}, the players and their resolvers are
+     * taken again from the given collection, so players that joined or left
+     * during the delay are accounted for.
+     *
+     * @param arena the arena the event occurred in
+     * @param competition the competition the event occurred in
+     * @param event the event that triggered this plan
+     * @param players the players to run the actions for
+     */
+    public void execute(Arena arena, Competition<?> competition, ArenaEvent event, Collection<ArenaPlayer> players) {
+        if (this.actions.isEmpty()) {
+            return;
+        }
+
+        new Execution(arena, competition, event, players).run(0);
+    }
+
+    /**
+     * Returns an empty plan.
+     *
+     * @return an empty plan
+     */
+    public static EventActionPlan empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles a plan from the given action lists, in order.
+     *
+     * @param actionLists the action lists to compile
+     * @return the compiled plan
+     */
+    @SafeVarargs
+    public static EventActionPlan compile(@Nullable List<EventAction>... actionLists) {
+        List<EventAction> actions = new ArrayList<>();
+        for (List<EventAction> actionList : actionLists) {
+            if (actionList != null) {
+                actions.addAll(actionList);
+            }
+        }
+
+        return actions.isEmpty() ? EMPTY : new EventActionPlan(List.copyOf(actions));
+    }
+
+    /**
+     * Compiles a plan for every event type defined in the given arena
+     * and phase actions. Arena actions run before phase actions.
+     *
+     * @param arenaActions the actions defined in the arena
+     * @param phaseActions the actions defined in the phase
+     * @return the compiled plans
+     */
+    public static Map<ArenaEventType<?>, EventActionPlan> compileAll(@Nullable Map<ArenaEventType<?>, List<EventAction>> arenaActions,
+                                                                     @Nullable Map<ArenaEventType<?>, List<EventAction>> phaseActions) {
+        Set<ArenaEventType<?>> eventTypes = new HashSet<>();
+        if (arenaActions != null) {
+            eventTypes.addAll(arenaActions.keySet());
+        }
+
+        if (phaseActions != null) {
+            eventTypes.addAll(phaseActions.keySet());
+        }
+
+        Map<ArenaEventType<?>, EventActionPlan> plans = new HashMap<>();
+        for (ArenaEventType<?> eventType : eventTypes) {
+            EventActionPlan plan = compile(
+                    arenaActions == null ? null : arenaActions.get(eventType),
+                    phaseActions == null ? null : phaseActions.get(eventType)
+            );
+
+            if (!plan.isEmpty()) {
+                plans.put(eventType, plan);
+            }
+        }
+
+        return Map.copyOf(plans);
+    }
+
+    private final class Execution {
+        private final Arena arena;
+        private final Competition<?> competition;
+        private final ArenaEvent event;
+        private final Collection<ArenaPlayer> players;
+        private ArenaPlayer[] snapshot;
+        private Resolver[] resolvers;
+
+        private Resolver eventResolver;
+
+        Execution(Arena arena, Competition<?> competition, ArenaEvent event, Collection<ArenaPlayer> players) {
+            this.arena = arena;
+            this.competition = competition;
+            this.event = event;
+            this.players = players;
+            this.snapshot();
+        }
+
+        private void snapshot() {
+            this.snapshot = this.players.toArray(ArenaPlayer[]::new);
+            this.resolvers = new Resolver[this.snapshot.length];
+            this.eventResolver = null;
+        }
+
+        void run(int index) {
+            for (int i = index; i < EventActionPlan.this.actions.size(); i++) {
+                EventAction action = EventActionPlan.this.actions.get(i);
+                if (!Bukkit.isStopping() && action instanceof DelayAction delayAction) {
+                    int next = i + 1;
+                    this.arena.getPlugin().getArenaScheduler().runTaskLater(this.competition, () -> {
+                        // Players and their state may have changed during the delay
+                        this.snapshot();
+                        this.run(next);
+                    }, delayAction.getTicks());
+                    return;
+                }
+
+                try {
+                    action.preProcess(this.arena, this.competition, this.event);
+                } catch (Throwable e) {
+                    this.arena.getPlugin().warn("An error occurred pre-processing event action {}", action, e);
+                    return;
+                }
+
+                for (int j = 0; j < this.snapshot.length; j++) {
+                    ArenaPlayer player = this.snapshot[j];
+
+                    // Player may have left as a result of a previous action
+                    if (!this.players.contains(player)) {
+                        continue;
+                    }
+
+                    try {
+                        action.call(player, this.resolver(j));
+                    } catch (Throwable e) {
+                        this.arena.getPlugin().warn("An error occurred calling event action {}", action, e);
+                        return;
+                    }
+                }
+
+                try {
+                    action.postProcess(this.arena, this.competition, this.event);
+                } catch (Throwable e) {
+                    this.arena.getPlugin().warn("An error occurred post-processing event action {}", action, e);
+                    return;
+                }
+            }
+        }
+
+        private Resolver resolver(int index) {
+            Resolver resolver = this.resolvers[index];
+            if (resolver != null) {
+                return resolver;
+            }
+
+            if (this.eventResolver == null) {
+                this.eventResolver = this.event.resolve();
+            }
+
+            // Resolve with ArenaPlayer context
+            Resolver.Builder builder = this.snapshot[index].resolve().toBuilder();
+            this.eventResolver.mergeInto(builder);
+            return this.resolvers[index] = builder.build();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.battleplugins.arena.event.player;
+
+import org.battleplugins.arena.Arena;
+import org.battleplugins.arena.competition.Competition;
+import org.battleplugins.arena.competition.LiveCompetition;
+import org.battleplugins.arena.event.ArenaEvent;
+import org.battleplugins.arena.event.EventTrigger;
+import org.battleplugins.arena.resolver.Resolver;
+import org.battleplugins.arena.resolver.ResolverKeys;
+import org.battleplugins.arena.resolver.ResolverProvider;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.StatChange;
+import org.battleplugins.arena.stat.StatHolder;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Called when multiple stats of a {@link StatHolder} change at once,
+ * either from a {@link org.battleplugins.arena.stat.StatTransaction}
+ * or from stats that are {@link ArenaStat#isCoalesced() coalesced}.
+ * <p>
+ * Stats changed this way do not call an individual
+ * {@link ArenaStatChangeEvent} for each change.
+ */
+@EventTrigger("on-stats-change")
+public class ArenaStatsChangeEvent extends Event implements ArenaEvent {
+    private final static HandlerList HANDLERS = new HandlerList();
+
+    private final LiveCompetition<?> competition;
+    private final StatHolder statHolder;
+    private final List<StatChange<?>> changes;
+
+    public ArenaStatsChangeEvent(LiveCompetition<?> competition, StatHolder statHolder, List<StatChange<?>> changes) {
+        this.competition = competition;
+        this.statHolder = statHolder;
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * Returns the {@link StatHolder} that holds the stats.
+     *
+     * @return the stat holder
+     */
+    public StatHolder getStatHolder() {
+        return this.statHolder;
+    }
+
+    /**
+     * Returns the changes that were made, in the order
+     * the stats were first changed.
+     *
+     * @return the changes that were made
+     */
+    public List<StatChange<?>> getChanges() {
+        return this.changes;
+    }
+
+    /**
+     * Returns the change made to the given {@link ArenaStat}.
+     *
+     * @param stat the stat to get the change for
+     * @param <T> the type of the stat
+     * @return the change made to the stat, or null if the stat did not change
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> StatChange<T> getChange(ArenaStat<T> stat) {
+        for (StatChange<?> change : this.changes) {
+            if (change.stat().equals(stat)) {
+                return (StatChange<T>) change;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Arena getArena() {
+        return this.competition.getArena();
+    }
+
+    @Override
+    public Competition<?> getCompetition() {
+        return this.competition;
+    }
+
+    @Override
+    public Resolver resolve() {
+        return ArenaEvent.super.resolve().toBuilder()
+                .define(ResolverKeys.STAT_HOLDER, ResolverProvider.simple(this.statHolder, StatHolder::describe))
+                .build();
+    }
+
+    @NotNull
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
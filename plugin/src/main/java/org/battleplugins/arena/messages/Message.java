@@ -8,6 +8,11 @@ import org.bukkit.command.CommandSender;
 public class Message {
     private final String translationKey;
     private Component text;
+    private MessageTemplate template;
+
+    // Serialized forms of the text, created on first use
+    private String plainText;
+    private String miniMessage;
 
     boolean context;
 
@@ -26,6 +31,11 @@ public class Message {
 
     void setText(Component text) {
         this.text = text;
+
+        // Compile up front, as loaded messages are sent far more often than they are set
+        this.template = MessageTemplate.compile(text);
+        this.plainText = null;
+        this.miniMessage = null;
     }
 
     public void send(CommandSender sender) {
@@ -45,7 +55,7 @@ public class Message {
     }
 
     public void send(CommandSender sender, Component... replacements) {
-        sender.sendMessage(this.toComponent(replacements.clone()));
+        sender.sendMessage(this.toComponent(replacements));
     }
 
     public void send(CommandSender sender, Message... replacements) {
@@ -83,11 +93,19 @@ public class Message {
     }
 
     public String asPlainText() {
-        return PlainTextComponentSerializer.plainText().serialize(this.toComponent());
+        if (this.plainText == null) {
+            this.plainText = PlainTextComponentSerializer.plainText().serialize(this.toComponent());
+        }
+
+        return this.plainText;
     }
 
     public String asMiniMessage() {
-        return Messages.MINI_MESSAGE.serialize(this.toComponent());
+        if (this.miniMessage == null) {
+            this.miniMessage = Messages.MINI_MESSAGE.serialize(this.toComponent());
+        }
+
+        return this.miniMessage;
     }
 
     public Component toComponent() {
@@ -95,22 +113,11 @@ public class Message {
     }
 
     public Component toComponent(String... replacements) {
-        Component[] compReplacements = new Component[replacements.length];
-        for (int i = 0; i < compReplacements.length; i++) {
-            String replacement = replacements[i];
-            compReplacements[i] = Component.text(replacement);
-        }
-
-        return this.toComponent(compReplacements);
+        return this.getTemplate().render(replacements);
     }
 
     public Component toComponent(Component... replacements) {
-        Component text = this.text;
-        for (Component replacement : replacements) {
-            text = text.replaceText(builder -> builder.matchLiteral("{}").once().replacement(replacement));
-        }
-
-        return text;
+        return this.getTemplate().render(replacements);
     }
 
     public Component toComponent(Message... replacements) {
@@ -123,6 +130,14 @@ public class Message {
         return this.toComponent(compReplacements);
     }
 
+    private MessageTemplate getTemplate() {
+        if (this.template == null) {
+            this.template = MessageTemplate.compile(this.text);
+        }
+
+        return this.template;
+    }
+
     private Message attachContext() {
         this.context = true;
         return this;
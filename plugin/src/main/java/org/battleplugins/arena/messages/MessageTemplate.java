@@ -0,0 +1,141 @@
+package org.battleplugins.arena.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The text of a {@link Message}, compiled into positional {@code {}} slots.
+ * <p>
+ * Slots are numbered in the order they appear in the component tree, so
+ * the first replacement fills the first slot and so on. Rendering builds
+ * the resulting component in a single pass, only rebuilding the parts of
+ * the tree that contain slots.
+ */
+final class MessageTemplate {
+    private static final String SLOT = "{}";
+
+    private final Component source;
+    private final Node root;
+
+    private MessageTemplate(Component source, @Nullable Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    Component render(Component... replacements) {
+        if (this.root == null || replacements.length == 0) {
+            return this.source;
+        }
+
+        return this.root.render(index -> replacements[index], replacements.length);
+    }
+
+    Component render(String... replacements) {
+        if (this.root == null || replacements.length == 0) {
+            return this.source;
+        }
+
+        return this.root.render(index -> Component.text(replacements[index]), replacements.length);
+    }
+
+    static MessageTemplate compile(Component component) {
+        return new MessageTemplate(component, Node.compile(component, new int[1]));
+    }
+
+    private static final class Node {
+        private final Component component;
+        private final String[] literals;
+        private final int firstSlot;
+        private final Node hover;
+        private final Node[] children;
+
+        private Node(Component component, @Nullable String[] literals, int firstSlot, @Nullable Node hover, @Nullable Node[] children) {
+            this.component = component;
+            this.literals = literals;
+            this.firstSlot = firstSlot;
+            this.hover = hover;
+            this.children = children;
+        }
+
+        Component render(IntFunction<Component> replacements, int count) {
+            Component component = this.component;
+            if (this.hover != null) {
+                component = component.hoverEvent(HoverEvent.showText(this.hover.render(replacements, count)));
+            }
+
+            List<Component> children = component.children();
+            if (this.children != null) {
+                List<Component> renderedChildren = new ArrayList<>(children.size());
+                for (int i = 0; i < this.children.length; i++) {
+                    Node child = this.children[i];
+                    renderedChildren.add(child == null ? children.get(i) : child.render(replacements, count));
+                }
+
+                children = renderedChildren;
+            }
+
+            if (this.literals == null || this.firstSlot >= count) {
+                return this.children == null ? component : component.children(children);
+            }
+
+            TextComponent.Builder builder = Component.text()
+                    .content(this.literals[0])
+                    .style(component.style());
+
+            for (int i = 1; i < this.literals.length; i++) {
+                int slot = this.firstSlot + i - 1;
+
+                // Not enough replacements for this slot, so keep it as-is
+                builder.append(slot < count ? replacements.apply(slot) : Component.text(SLOT));
+                if (!this.literals[i].isEmpty()) {
+                    builder.append(Component.text(this.literals[i]));
+                }
+            }
+
+            return builder.append(children).build();
+        }
+
+        @Nullable
+        static Node compile(Component component, int[] nextSlot) {
+            String[] literals = null;
+            int firstSlot = nextSlot[0];
+            if (component instanceof TextComponent text && text.content().contains(SLOT)) {
+                literals = text.content().split("\\{}", -1);
+                nextSlot[0] += literals.length - 1;
+            }
+
+            Node hover = null;
+            HoverEvent<?> hoverEvent = component.hoverEvent();
+            if (hoverEvent != null && hoverEvent.value() instanceof Component hoverText) {
+                hover = compile(hoverText, nextSlot);
+            }
+
+            Node[] children = null;
+            List<Component> componentChildren = component.children();
+            for (int i = 0; i < componentChildren.size(); i++) {
+                Node child = compile(componentChildren.get(i), nextSlot);
+                if (child == null) {
+                    continue;
+                }
+
+                if (children == null) {
+                    children = new Node[componentChildren.size()];
+                }
+
+                children[i] = child;
+            }
+
+            if (literals == null && hover == null && children == null) {
+                return null;
+            }
+
+            return new Node(component, literals, firstSlot, hover, children);
+        }
+    }
+}
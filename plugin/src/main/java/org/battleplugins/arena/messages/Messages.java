@@ -62,6 +62,9 @@ public final class Messages {
     public static final Message ALREADY_IN_ARENA = error("arena-already-in-arena", "你已經在競技場中！");
     public static final Message NOT_IN_ARENA = error("arena-not-in-arena", "你目前不在任何競技場中！");
     public static final Message ARENA_JOINED = info("arena-joined", "你已加入 <secondary>{}</secondary>！");
+    public static final Message ARENA_QUEUED = info("arena-queued", "你已加入 <secondary>{}</secondary> 的配對佇列，請稍候！");
+    public static final Message ARENA_ALREADY_QUEUED = error("arena-already-queued", "你已經在配對佇列中！");
+    public static final Message ARENA_LEFT_QUEUE = info("arena-left-queue", "你已離開配對佇列！");
     public static final Message ARENA_KICKED = success("arena-kicked", "你已將 <secondary>{}</secondary> 踢出競技場！");
     public static final Message ARENA_CANNOT_KICK_SELF = error("arena-cannot-kick-self", "你不能將自己踢出競技場！請使用 <secondary>/{} leave</secondary> 離開競技場。");
     public static final Message ARENA_KICKED_PLAYER = error("arena-kicked-player", "你已被踢出競技場！");
@@ -0,0 +1,198 @@
+package org.battleplugins.arena.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Component} in which the positions of all {@code %placeholder%}
+ * segments have been located ahead of time.
+ * <p>
+ * Templates are compiled once per distinct component and cached.
+ * Rendering a template substitutes every placeholder in a single
+ * traversal, and only rebuilds the parts of the component tree that
+ * actually contain placeholders.
+ */
+public final class ComponentTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final Map<Component, ComponentTemplate> TEMPLATES = Collections.synchronizedMap(new LinkedHashMap<Component, ComponentTemplate>(256, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Component, ComponentTemplate> eldest) {
+            return this.size() > MAX_CACHED_TEMPLATES;
+        }
+    });
+
+    private final Component source;
+    private final Node root;
+
+    private ComponentTemplate(Component source, @Nullable Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * Gets the component this template was compiled from.
+     *
+     * @return the source component
+     */
+    public Component getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns whether this template contains any placeholders.
+     *
+     * @return whether this template contains any placeholders
+     */
+    public boolean hasPlaceholders() {
+        return this.root != null;
+    }
+
+    /**
+     * Renders this template using the given resolver. Placeholders
+     * the resolver has no provider for are left untouched.
+     *
+     * @param resolver the resolver to render the template with
+     * @return the rendered component
+     */
+    public Component render(Resolver resolver) {
+        if (this.root == null) {
+            return this.source;
+        }
+
+        if (!(resolver instanceof ResolverImpl impl)) {
+            return resolver.resolveToComponent(this.source);
+        }
+
+        return this.root.render(impl);
+    }
+
+    Component render(ResolverImpl resolver) {
+        return this.root == null ? this.source : this.root.render(resolver);
+    }
+
+    /**
+     * Compiles the given component into a template, or returns the
+     * cached template if the component has been compiled before.
+     *
+     * @param component the component to compile
+     * @return the compiled template
+     */
+    public static ComponentTemplate compile(Component component) {
+        ComponentTemplate template = TEMPLATES.get(component);
+        if (template != null) {
+            return template;
+        }
+
+        template = new ComponentTemplate(component, Node.compile(component));
+        TEMPLATES.put(component, template);
+        return template;
+    }
+
+    /**
+     * A component in the tree that contains placeholders, either in
+     * its own content, in its hover text or in one of its children.
+     * Parts of the tree without placeholders are not compiled into
+     * nodes and are reused as-is when rendering.
+     */
+    private static final class Node {
+        private final Component component;
+        private final PlaceholderTemplate content;
+        private final Node hover;
+        private final Node[] children;
+
+        private Node(Component component, @Nullable PlaceholderTemplate content, @Nullable Node hover, @Nullable Node[] children) {
+            this.component = component;
+            this.content = content;
+            this.hover = hover;
+            this.children = children;
+        }
+
+        Component render(ResolverImpl resolver) {
+            Component component = this.component;
+            if (this.hover != null) {
+                component = component.hoverEvent(HoverEvent.showText(this.hover.render(resolver)));
+            }
+
+            List<Component> children = component.children();
+            if (this.children != null) {
+                List<Component> renderedChildren = new ArrayList<>(children.size());
+                for (int i = 0; i < this.children.length; i++) {
+                    Node child = this.children[i];
+                    renderedChildren.add(child == null ? children.get(i) : child.render(resolver));
+                }
+
+                children = renderedChildren;
+            }
+
+            if (this.content == null) {
+                return this.children == null ? component : component.children(children);
+            }
+
+            // Same as Component#replaceText, the text before the first placeholder
+            // stays the content and everything after is appended as children
+            TextComponent.Builder builder = Component.text()
+                    .content(this.content.literal(0))
+                    .style(component.style());
+
+            for (int i = 0; i < this.content.size(); i++) {
+                String placeholder = this.content.placeholder(i);
+                ResolverProvider<?> provider = resolver.getProvider(placeholder);
+                builder.append(provider == null ? Component.text("%" + placeholder + "%") : provider.toComponent(resolver));
+
+                String literal = this.content.literal(i + 1);
+                if (!literal.isEmpty()) {
+                    builder.append(Component.text(literal));
+                }
+            }
+
+            return builder.append(children).build();
+        }
+
+        @Nullable
+        static Node compile(Component component) {
+            PlaceholderTemplate content = null;
+            if (component instanceof TextComponent text && text.content().indexOf('%') != -1) {
+                PlaceholderTemplate template = PlaceholderTemplate.compile(text.content());
+                if (template.hasPlaceholders()) {
+                    content = template;
+                }
+            }
+
+            Node hover = null;
+            HoverEvent<?> hoverEvent = component.hoverEvent();
+            if (hoverEvent != null && hoverEvent.value() instanceof Component hoverText) {
+                hover = compile(hoverText);
+            }
+
+            Node[] children = null;
+            List<Component> componentChildren = component.children();
+            for (int i = 0; i < componentChildren.size(); i++) {
+                Node child = compile(componentChildren.get(i));
+                if (child == null) {
+                    continue;
+                }
+
+                if (children == null) {
+                    children = new Node[componentChildren.size()];
+                }
+
+                children[i] = child;
+            }
+
+            if (content == null && hover == null && children == null) {
+                return null;
+            }
+
+            return new Node(component, content, hover, children);
+        }
+    }
+}
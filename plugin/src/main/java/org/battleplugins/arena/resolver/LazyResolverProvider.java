@@ -0,0 +1,51 @@
+package org.battleplugins.arena.resolver;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LazyResolverProvider<T> implements ResolverProvider<T> {
+    private final Supplier<T> supplier;
+    private final Function<T, String> toString;
+    private final Function<T, Component> toComponent;
+    private final boolean memoize;
+
+    private volatile boolean computed;
+    private T value;
+
+    protected LazyResolverProvider(Supplier<T> supplier, Function<T, String> toString, boolean memoize) {
+        this(supplier, toString, t -> Component.text(toString.apply(t)), memoize);
+    }
+
+    protected LazyResolverProvider(Supplier<T> supplier, Function<T, String> toString, Function<T, Component> toComponent, boolean memoize) {
+        this.supplier = supplier;
+        this.toString = toString;
+        this.toComponent = toComponent;
+        this.memoize = memoize;
+    }
+
+    @Override
+    public T resolve(Resolver resolver) {
+        if (!this.memoize) {
+            return this.supplier.get();
+        }
+
+        if (!this.computed) {
+            this.value = this.supplier.get();
+            this.computed = true;
+        }
+
+        return this.value;
+    }
+
+    @Override
+    public String toString(Resolver resolver) {
+        return this.toString.apply(this.resolve(resolver));
+    }
+
+    @Override
+    public Component toComponent(Resolver resolver) {
+        return this.toComponent.apply(this.resolve(resolver));
+    }
+}
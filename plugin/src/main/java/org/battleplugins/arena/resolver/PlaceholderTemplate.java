@@ -0,0 +1,192 @@
+package org.battleplugins.arena.resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string that has been split into literal text and
+ * {@code %placeholder%} segments.
+ * <p>
+ * Templates are compiled once per distinct string and cached, so
+ * resolving a string only has to look up the placeholders that are
+ * actually present in it, in a single pass.
+ */
+public final class PlaceholderTemplate {
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+    private static final Map<String, PlaceholderTemplate> TEMPLATES = Collections.synchronizedMap(new LinkedHashMap<String, PlaceholderTemplate>(256, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlaceholderTemplate> eldest) {
+            // Strings are almost always config values, but guard against
+            // an unbounded amount of one-off strings being passed through
+            return this.size() > MAX_CACHED_TEMPLATES;
+        }
+    });
+
+    private final String source;
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private PlaceholderTemplate(String source, String[] literals, String[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Gets the string this template was compiled from.
+     *
+     * @return the source string
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns whether this template contains any placeholders.
+     *
+     * @return whether this template contains any placeholders
+     */
+    public boolean hasPlaceholders() {
+        return this.placeholders.length > 0;
+    }
+
+    /**
+     * Gets the names of the placeholders in this template, in the
+     * order they appear, without the surrounding {@code %}.
+     *
+     * @return the placeholder names
+     */
+    public List<String> getPlaceholders() {
+        return List.of(this.placeholders);
+    }
+
+    /**
+     * Renders this template using the given resolver. Placeholders
+     * the resolver has no provider for are left untouched.
+     *
+     * @param resolver the resolver to render the template with
+     * @return the rendered string
+     */
+    public String render(Resolver resolver) {
+        if (this.placeholders.length == 0) {
+            return this.source;
+        }
+
+        if (!(resolver instanceof ResolverImpl impl)) {
+            return resolver.resolveToString(this.source);
+        }
+
+        return this.render(impl);
+    }
+
+    int size() {
+        return this.placeholders.length;
+    }
+
+    String literal(int index) {
+        return this.literals[index];
+    }
+
+    String placeholder(int index) {
+        return this.placeholders[index];
+    }
+
+    String render(ResolverImpl resolver) {
+        if (this.placeholders.length == 0) {
+            return this.source;
+        }
+
+        StringBuilder builder = new StringBuilder(this.source.length() + 16 * this.placeholders.length);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            builder.append(this.literals[i]);
+
+            ResolverProvider<?> provider = resolver.getProvider(this.placeholders[i]);
+            if (provider == null) {
+                builder.append('%').append(this.placeholders[i]).append('%');
+            } else {
+                builder.append(provider.toString(resolver));
+            }
+        }
+
+        return builder.append(this.literals[this.placeholders.length]).toString();
+    }
+
+    /**
+     * Compiles the given string into a template, or returns the
+     * cached template if the string has been compiled before.
+     *
+     * @param string the string to compile
+     * @return the compiled template
+     */
+    public static PlaceholderTemplate compile(String string) {
+        PlaceholderTemplate template = TEMPLATES.get(string);
+        if (template != null) {
+            return template;
+        }
+
+        template = parse(string);
+        TEMPLATES.put(string, template);
+        return template;
+    }
+
+    private static PlaceholderTemplate parse(String string) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < string.length()) {
+            int start = string.indexOf('%', index);
+            if (start == -1) {
+                break;
+            }
+
+            int end = string.indexOf('%', start + 1);
+            if (end == -1) {
+                break;
+            }
+
+            String name = string.substring(start + 1, end);
+            if (!isPlaceholderName(name)) {
+                // Not a placeholder (i.e. "50% off %player%" or "10%/%max%"),
+                // so keep the first '%' as text and try again from the second one
+                literal.append(string, index, start + 1);
+                index = start + 1;
+                continue;
+            }
+
+            literal.append(string, index, start);
+            literals.add(literal.toString());
+            placeholders.add(name);
+
+            literal.setLength(0);
+            index = end + 1;
+        }
+
+        literal.append(string, index, string.length());
+        literals.add(literal.toString());
+
+        return new PlaceholderTemplate(string, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    private static boolean isPlaceholderName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+
+        // Only accept characters used in resolver keys, so a stray '%'
+        // cannot swallow the opening '%' of the placeholder after it
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9') && c != '-' && c != '_') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
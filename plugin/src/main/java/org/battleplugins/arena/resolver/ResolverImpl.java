@@ -1,41 +1,49 @@
 package org.battleplugins.arena.resolver;
 
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * A resolver made up of a chain of immutable scopes.
+ * <p>
+ * Each resolver only holds the providers defined in its own scope and
+ * falls back to its parent for everything else, so extending a resolver
+ * through {@link #toBuilder()} does not copy the providers of the
+ * scopes above it.
+ */
 class ResolverImpl implements Resolver {
+    private final ResolverImpl parent;
     private final Map<ResolverKey<?>, ResolverProvider<?>> results;
 
-    ResolverImpl(Map<ResolverKey<?>, ResolverProvider<?>> results) {
+    // Providers by placeholder name, built on first use
+    private Map<String, ResolverProvider<?>> placeholders;
+
+    ResolverImpl(@Nullable ResolverImpl parent, Map<ResolverKey<?>, ResolverProvider<?>> results) {
+        this.parent = parent;
         this.results = new HashMap<>(results);
     }
 
     @Override
     public String resolveToString(String string) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            string = string.replace(key, entry.getValue().toString(this));
+        if (string.indexOf('%') == -1) {
+            return string;
         }
 
-        return string;
+        return PlaceholderTemplate.compile(string).render(this);
     }
 
     @Override
     public Component resolveToComponent(Component component) {
-        for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
-            String key = "%" + entry.getKey().getName().replace("-", "_") + "%";
-            component = component.replaceText(builder -> builder.matchLiteral(key).replacement(entry.getValue().toComponent(this)));
-        }
-
-        return component;
+        return ComponentTemplate.compile(component).render(this);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T resolve(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.getProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -45,7 +53,7 @@ class ResolverImpl implements Resolver {
 
     @Override
     public <T> String resolveToString(ResolverKey<T> key) {
-        ResolverProvider<?> provider = this.results.get(key);
+        ResolverProvider<?> provider = this.getProvider(key);
         if (provider == null) {
             throw new IllegalArgumentException("No provider defined for key " + key);
         }
@@ -53,26 +61,93 @@ class ResolverImpl implements Resolver {
         return provider.toString(this);
     }
 
+    @Nullable
+    private ResolverProvider<?> getProvider(ResolverKey<?> key) {
+        for (ResolverImpl scope = this; scope != null; scope = scope.parent) {
+            ResolverProvider<?> provider = scope.results.get(key);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    ResolverProvider<?> getProvider(String placeholder) {
+        for (ResolverImpl scope = this; scope != null; scope = scope.parent) {
+            ResolverProvider<?> provider = scope.getPlaceholders().get(placeholder);
+            if (provider != null) {
+                return provider;
+            }
+        }
+
+        return null;
+    }
+
+    private Map<String, ResolverProvider<?>> getPlaceholders() {
+        Map<String, ResolverProvider<?>> placeholders = this.placeholders;
+        if (placeholders == null) {
+            placeholders = new HashMap<>(this.results.size());
+            for (Map.Entry<ResolverKey<?>, ResolverProvider<?>> entry : this.results.entrySet()) {
+                placeholders.put(entry.getKey().getPlaceholder(), entry.getValue());
+            }
+
+            this.placeholders = placeholders;
+        }
+
+        return placeholders;
+    }
+
     @Override
     public boolean has(ResolverKey<?> key) {
-        return this.results.containsKey(key);
+        return this.getProvider(key) != null;
     }
 
     @Override
     public void mergeInto(Builder builder) {
-        ((BuilderImpl) builder).results.putAll(this.results);
+        BuilderImpl builderImpl = (BuilderImpl) builder;
+
+        // The builder already extends this scope, so there is nothing to merge
+        if (builderImpl.results.isEmpty() && builderImpl.extendsScope(this)) {
+            return;
+        }
+
+        // Parent scopes first, so this scope overrides them
+        if (this.parent != null) {
+            this.parent.mergeInto(builder);
+        }
+
+        builderImpl.results.putAll(this.results);
     }
 
     @Override
     public Builder toBuilder() {
-        BuilderImpl builder = new BuilderImpl();
-        builder.results.putAll(this.results);
-        return builder;
+        return new BuilderImpl(this);
     }
 
     static class BuilderImpl implements Resolver.Builder {
+        private final ResolverImpl parent;
         private final Map<ResolverKey<?>, ResolverProvider<?>> results = new HashMap<>();
 
+        BuilderImpl() {
+            this(null);
+        }
+
+        BuilderImpl(@Nullable ResolverImpl parent) {
+            this.parent = parent;
+        }
+
+        boolean extendsScope(ResolverImpl scope) {
+            for (ResolverImpl parent = this.parent; parent != null; parent = parent.parent) {
+                if (parent == scope) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
         @Override
         public <T> Builder define(ResolverKey<T> key, ResolverProvider<T> provider) {
             this.results.put(key, provider);
@@ -81,7 +156,12 @@ class ResolverImpl implements Resolver {
 
         @Override
         public Resolver build() {
-            return new ResolverImpl(this.results);
+            // Nothing was defined in this scope, so the parent can be used as-is
+            if (this.results.isEmpty() && this.parent != null) {
+                return this.parent;
+            }
+
+            return new ResolverImpl(this.parent, this.results);
         }
     }
 }
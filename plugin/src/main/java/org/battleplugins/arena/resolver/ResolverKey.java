@@ -4,15 +4,16 @@ import org.battleplugins.arena.util.TypeToken;
 
 public final class ResolverKey<T> {
     private final String name;
+    private final String placeholder;
     private final TypeToken<T> type;
 
     ResolverKey(String name, Class<T> type) {
-        this.name = name;
-        this.type = TypeToken.of(type);
+        this(name, TypeToken.of(type));
     }
 
     ResolverKey(String name, TypeToken<T> type) {
         this.name = name;
+        this.placeholder = name.replace("-", "_");
         this.type = type;
     }
 
@@ -20,6 +21,16 @@ public final class ResolverKey<T> {
         return this.name;
     }
 
+    /**
+     * Gets the name of this key as it appears in a placeholder,
+     * without the surrounding {@code %}.
+     *
+     * @return the placeholder name of this key
+     */
+    public String getPlaceholder() {
+        return this.placeholder;
+    }
+
     public TypeToken<T> getType() {
         return this.type;
     }
@@ -12,12 +12,13 @@ import org.battleplugins.arena.team.ArenaTeam;
 import org.battleplugins.arena.util.TypeToken;
 
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ResolverKeys {
-    private static final Map<String, ResolverKey<?>> RESOLVER_KEYS = new HashMap<>();
+    private static final Map<String, ResolverKey<?>> RESOLVER_KEYS = new ConcurrentHashMap<>();
+    private static final Map<ArenaStat<?>, ResolverKey<?>> STAT_KEYS = new ConcurrentHashMap<>();
     
     public static final ResolverKey<Arena> ARENA = register("arena", Arena.class);
     public static final ResolverKey<Integer> ALIVE_PLAYERS = register("alive-players", Integer.class);
@@ -54,6 +55,26 @@ public final class ResolverKeys {
         return key;
     }
 
+    /**
+     * Gets the resolver key for the given {@link ArenaStat}, which
+     * resolves to {@code %stat_<key>%}.
+     * <p>
+     * Keys are registered alongside the stat in
+     * {@link org.battleplugins.arena.stat.ArenaStats#register(ArenaStat)},
+     * or upon first access for stats that were never registered.
+     *
+     * @param stat the stat to get the key for
+     * @return the resolver key for the stat
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResolverKey<T> stat(ArenaStat<T> stat) {
+        return (ResolverKey<T>) STAT_KEYS.computeIfAbsent(stat, ResolverKeys::createStatKey);
+    }
+
+    private static <T> ResolverKey<T> createStatKey(ArenaStat<T> stat) {
+        return register("stat-" + stat.getKey().replace("_", "-"), stat.getType());
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> ResolverKey<T> get(String name) {
         return (ResolverKey<T>) RESOLVER_KEYS.get(name);
@@ -24,4 +24,29 @@ public interface ResolverProvider<T> {
     static <T> ResolverProvider<T> simple(T value, Function<T, String> toString, Function<T, Component> toComponent) {
         return new SimpleResolverProvider<>(value, toString, toComponent);
     }
+
+    /**
+     * Creates a provider whose value is computed on first access
+     * and reused afterwards.
+     *
+     * @param value the supplier of the value
+     * @param toString the function to convert the value to a string
+     * @return the provider
+     */
+    static <T> ResolverProvider<T> lazy(Supplier<T> value, Function<T, String> toString) {
+        return new LazyResolverProvider<>(value, toString, true);
+    }
+
+    /**
+     * Creates a provider whose value is computed every time it is
+     * accessed. This should be used for values that change over time
+     * within a cached scope, such as a remaining duration.
+     *
+     * @param value the supplier of the value
+     * @param toString the function to convert the value to a string
+     * @return the provider
+     */
+    static <T> ResolverProvider<T> dynamic(Supplier<T> value, Function<T, String> toString) {
+        return new LazyResolverProvider<>(value, toString, false);
+    }
 }
@@ -0,0 +1,348 @@
+package org.battleplugins.arena.scheduler;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.battleplugins.arena.BattleArena;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The scheduler responsible for all timers within BattleArena.
+ * <p>
+ * Rather than creating a Bukkit task for every timer, all tasks are
+ * kept in a single hierarchical timing wheel that is advanced once
+ * per server tick, and every task that expires in a tick is run in a
+ * single batch. Tasks may be given an owner (i.e. a competition), so
+ * that all tasks of the owner can be cancelled at once when it is
+ * torn down.
+ * <p>
+ * Tasks are always run on the main thread. Scheduling or cancelling
+ * a task from another thread is deferred to the main thread.
+ * <p>
+ * Work which should only run once all the events of a tick have been
+ * handled can be deferred to the end of the tick using
+ * {@link #runAtTickEnd(Runnable)}.
+ */
+public class ArenaScheduler {
+    private final BattleArena plugin;
+
+    private final TimingWheel wheel = new TimingWheel();
+    private final Map<Object, Set<ScheduledTask>> ownedTasks = new IdentityHashMap<>();
+    private final List<ScheduledTask> expired = new ArrayList<>();
+
+    private final List<Runnable> tickEndTasks = new ArrayList<>();
+    private final TickEndListener tickEndListener = new TickEndListener();
+
+    private long lastTickTimeRemaining;
+
+    private BukkitTask tickTask;
+
+    public ArenaScheduler(BattleArena plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts advancing the scheduler every tick.
+     */
+    public void start() {
+        if (this.tickTask != null) {
+            return;
+        }
+
+        this.tickTask = Bukkit.getScheduler().runTaskTimer(this.plugin, this::tick, 1, 1);
+        Bukkit.getPluginManager().registerEvents(this.tickEndListener, this.plugin);
+    }
+
+    /**
+     * Stops the scheduler and cancels all remaining tasks.
+     */
+    public void stop() {
+        if (this.tickTask != null) {
+            this.tickTask.cancel();
+            this.tickTask = null;
+        }
+
+        HandlerList.unregisterAll(this.tickEndListener);
+        this.tickEndTasks.clear();
+
+        List<ScheduledTask> remaining = new ArrayList<>();
+        this.wheel.clear(remaining);
+        remaining.forEach(ScheduledTask::markCancelled);
+
+        this.ownedTasks.clear();
+    }
+
+    /**
+     * Schedules a task to run after the given delay.
+     *
+     * @param owner the owner of the task, or null if the task has no owner
+     * @param task the task to run
+     * @param delay the delay in ticks before the task is run
+     * @return the scheduled task
+     */
+    public ScheduledTask runTaskLater(@Nullable Object owner, Runnable task, long delay) {
+        return this.schedule(owner, task, delay, 0);
+    }
+
+    /**
+     * Schedules a task to run repeatedly after the given delay.
+     *
+     * @param owner the owner of the task, or null if the task has no owner
+     * @param task the task to run
+     * @param delay the delay in ticks before the task is first run
+     * @param period the period in ticks between subsequent runs, at least one tick
+     * @return the scheduled task
+     */
+    public ScheduledTask runTaskTimer(@Nullable Object owner, Runnable task, long delay, long period) {
+        return this.schedule(owner, task, delay, Math.max(1, period));
+    }
+
+    /**
+     * Runs a task at the end of the current tick, once all the
+     * events of the tick have been handled. Tasks are run in the
+     * order they were added, and a task added while the tasks of
+     * a tick are being run is run at the end of the next tick.
+     *
+     * @param task the task to run
+     */
+    public void runAtTickEnd(Runnable task) {
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.runAtTickEnd(task));
+            return;
+        }
+
+        this.tickEndTasks.add(task);
+    }
+
+    /**
+     * Runs the given supplier on the main thread. If called from the
+     * main thread, the supplier is run right away rather than on the
+     * next tick.
+     *
+     * @param supplier the supplier to run
+     * @param <T> the type of the result
+     * @return a future completed with the result of the supplier
+     */
+    public <T> CompletableFuture<T> supplySync(Supplier<T> supplier) {
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                return CompletableFuture.completedFuture(supplier.get());
+            } catch (Throwable e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(supplier, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    /**
+     * Composes the given future with the given function, which is run
+     * on the main thread. If the future has already been completed and
+     * this is called from the main thread, the function is run right
+     * away rather than on the next tick.
+     *
+     * @param future the future to compose
+     * @param function the function to run once the future completes
+     * @param <T> the type of the result of the future
+     * @param <U> the type of the result of the function
+     * @return the composed future
+     */
+    public <T, U> CompletableFuture<U> thenComposeSync(CompletableFuture<T> future, Function<? super T, ? extends CompletionStage<U>> function) {
+        if (future.isDone() && Bukkit.isPrimaryThread()) {
+            return future.thenCompose(function);
+        }
+
+        return future.thenComposeAsync(function, Bukkit.getScheduler().getMainThreadExecutor(this.plugin));
+    }
+
+    /**
+     * Cancels all the tasks of the given owner.
+     *
+     * @param owner the owner to cancel the tasks of
+     * @return the number of tasks that were cancelled
+     */
+    public int cancelTasks(Object owner) {
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.cancelTasks(owner));
+            return 0;
+        }
+
+        Set<ScheduledTask> tasks = this.ownedTasks.remove(owner);
+        if (tasks == null) {
+            return 0;
+        }
+
+        for (ScheduledTask task : tasks) {
+            task.markCancelled();
+            this.wheel.remove(task);
+        }
+
+        return tasks.size();
+    }
+
+    /**
+     * Gets the number of pending tasks of the given owner.
+     *
+     * @param owner the owner to get the pending tasks of
+     * @return the number of pending tasks of the owner
+     */
+    public int getPendingTasks(Object owner) {
+        Set<ScheduledTask> tasks = this.ownedTasks.get(owner);
+        return tasks == null ? 0 : tasks.size();
+    }
+
+    /**
+     * Gets the total number of pending tasks.
+     *
+     * @return the total number of pending tasks
+     */
+    public int getPendingTasks() {
+        return this.wheel.size();
+    }
+
+    /**
+     * Gets the time that was left over at the end of the last tick
+     * before the server would have fallen behind, in nanoseconds.
+     * This is negative if the last tick took longer than it should.
+     *
+     * @return the time remaining at the end of the last tick
+     */
+    public long getLastTickTimeRemaining() {
+        return this.lastTickTimeRemaining;
+    }
+
+    /**
+     * Gets the number of ticks the scheduler has been advanced.
+     *
+     * @return the current tick of the scheduler
+     */
+    public long getCurrentTick() {
+        return this.wheel.getCurrentTick();
+    }
+
+    void cancel(ScheduledTask task) {
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.cancel(task));
+            return;
+        }
+
+        if (task.isCancelled()) {
+            return;
+        }
+
+        task.markCancelled();
+        this.wheel.remove(task);
+        this.release(task);
+    }
+
+    private ScheduledTask schedule(@Nullable Object owner, Runnable runnable, long delay, long period) {
+        ScheduledTask task = new ScheduledTask(this, owner, runnable, period);
+        if (!Bukkit.isPrimaryThread()) {
+            Bukkit.getScheduler().runTask(this.plugin, () -> this.insert(task, delay));
+        } else {
+            this.insert(task, delay);
+        }
+
+        return task;
+    }
+
+    private void insert(ScheduledTask task, long delay) {
+        if (task.isCancelled()) {
+            return;
+        }
+
+        // Same as Bukkit, a task is run at the earliest on the next tick
+        task.deadline = this.wheel.getCurrentTick() + Math.max(1, delay);
+        this.wheel.add(task);
+
+        if (task.getOwner() != null) {
+            this.ownedTasks.computeIfAbsent(task.getOwner(), owner -> new HashSet<>()).add(task);
+        }
+    }
+
+    private void release(ScheduledTask task) {
+        if (task.getOwner() == null) {
+            return;
+        }
+
+        Set<ScheduledTask> tasks = this.ownedTasks.get(task.getOwner());
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            this.ownedTasks.remove(task.getOwner());
+        }
+    }
+
+    private void tick() {
+        this.wheel.advance(this.expired);
+        if (this.expired.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (ScheduledTask task : this.expired) {
+                // Task may have been cancelled by an earlier task in this batch
+                if (task.isCancelled()) {
+                    continue;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    this.plugin.error("An error occurred running scheduled task {}", task, e);
+                }
+
+                if (task.isCancelled()) {
+                    continue;
+                }
+
+                if (task.isRepeating()) {
+                    task.deadline = this.wheel.getCurrentTick() + task.getPeriod();
+                    this.wheel.add(task);
+                } else {
+                    this.release(task);
+                }
+            }
+        } finally {
+            this.expired.clear();
+        }
+    }
+
+    private void tickEnd() {
+        if (this.tickEndTasks.isEmpty()) {
+            return;
+        }
+
+        List<Runnable> tasks = List.copyOf(this.tickEndTasks);
+        this.tickEndTasks.clear();
+
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                this.plugin.error("An error occurred running end of tick task {}", task, e);
+            }
+        }
+    }
+
+    private class TickEndListener implements Listener {
+
+        @EventHandler
+        public void onTickEnd(ServerTickEndEvent event) {
+            ArenaScheduler.this.lastTickTimeRemaining = event.getTimeRemaining();
+            ArenaScheduler.this.tickEnd();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.battleplugins.arena.scheduler;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a task scheduled through the {@link ArenaScheduler}.
+ */
+public final class ScheduledTask {
+    private final ArenaScheduler scheduler;
+    private final Object owner;
+    private final Runnable task;
+    private final long period;
+
+    // Timing wheel state
+    long deadline;
+    TimingWheel.Bucket bucket;
+    ScheduledTask previous;
+    ScheduledTask next;
+
+    private boolean cancelled;
+
+    ScheduledTask(ArenaScheduler scheduler, @Nullable Object owner, Runnable task, long period) {
+        this.scheduler = scheduler;
+        this.owner = owner;
+        this.task = task;
+        this.period = period;
+    }
+
+    /**
+     * Gets the owner of this task.
+     * <p>
+     * All tasks of an owner can be cancelled at once using
+     * {@link ArenaScheduler#cancelTasks(Object)}.
+     *
+     * @return the owner of this task, or null if the task has no owner
+     */
+    @Nullable
+    public Object getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * Gets the period of this task in ticks.
+     *
+     * @return the period of this task, or 0 if the task does not repeat
+     */
+    public long getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Returns whether this task repeats.
+     *
+     * @return whether this task repeats
+     */
+    public boolean isRepeating() {
+        return this.period > 0;
+    }
+
+    /**
+     * Returns whether this task has been cancelled.
+     *
+     * @return whether this task has been cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Cancels this task.
+     * <p>
+     * Cancelling a task that has already been cancelled or
+     * that has already run has no effect.
+     */
+    public void cancel() {
+        this.scheduler.cancel(this);
+    }
+
+    void markCancelled() {
+        this.cancelled = true;
+    }
+
+    void run() {
+        this.task.run();
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledTask{owner=" + this.owner + ", period=" + this.period + ", task=" + this.task + "}";
+    }
+}
@@ -0,0 +1,204 @@
+package org.battleplugins.arena.scheduler;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel measured in ticks.
+ * <p>
+ * The first level holds 256 one-tick slots. Each following level holds
+ * 64 slots, each spanning an entire lap of the level beneath it. Tasks
+ * are placed in the lowest level that can hold their deadline, and are
+ * cascaded down a level whenever the wheel reaches the slot they sit in.
+ * Adding, removing and expiring a task are all constant time.
+ */
+final class TimingWheel {
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final long ROOT_MASK = ROOT_SIZE - 1;
+    private static final long LEVEL_MASK = LEVEL_SIZE - 1;
+
+    // The furthest deadline the top level can hold; anything further
+    // away is parked in the last slot and re-placed once it cascades
+    private static final long MAX_SPAN = 1L << (shift(LEVELS - 1) + LEVEL_BITS);
+
+    private final Bucket[][] levels = new Bucket[LEVELS][];
+
+    private long currentTick;
+    private int size;
+
+    TimingWheel() {
+        this.levels[0] = createBuckets(ROOT_SIZE);
+        for (int level = 1; level < LEVELS; level++) {
+            this.levels[level] = createBuckets(LEVEL_SIZE);
+        }
+    }
+
+    long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    void add(ScheduledTask task) {
+        long delta = task.deadline - this.currentTick;
+        if (delta < ROOT_SIZE) {
+            long deadline = Math.max(task.deadline, this.currentTick);
+            this.levels[0][(int) (deadline & ROOT_MASK)].add(task);
+        } else {
+            int level = 1;
+            while (level < LEVELS - 1 && delta >= 1L << (shift(level) + LEVEL_BITS)) {
+                level++;
+            }
+
+            long target = delta >= MAX_SPAN ? this.currentTick + MAX_SPAN - 1 : task.deadline;
+            this.levels[level][(int) ((target >>> shift(level)) & LEVEL_MASK)].add(task);
+        }
+
+        this.size++;
+    }
+
+    void remove(ScheduledTask task) {
+        if (task.bucket == null) {
+            return;
+        }
+
+        task.bucket.remove(task);
+        this.size--;
+    }
+
+    /**
+     * Advances the wheel by a single tick and collects every task
+     * whose deadline has been reached. Collected tasks are no longer
+     * part of the wheel.
+     *
+     * @param expired the list to collect expired tasks into
+     */
+    void advance(List<ScheduledTask> expired) {
+        this.currentTick++;
+
+        // Cascade every level whose slot boundary has been reached,
+        // from the top down so tasks can fall through multiple levels
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = shift(level);
+            if ((this.currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+
+            Bucket bucket = this.levels[level][(int) ((this.currentTick >>> shift) & LEVEL_MASK)];
+            for (ScheduledTask task = bucket.drain(); task != null; ) {
+                ScheduledTask next = task.next;
+                task.next = null;
+
+                this.size--;
+                this.add(task);
+                task = next;
+            }
+        }
+
+        Bucket due = this.levels[0][(int) (this.currentTick & ROOT_MASK)];
+        for (ScheduledTask task = due.drain(); task != null; ) {
+            ScheduledTask next = task.next;
+            task.next = null;
+
+            this.size--;
+            expired.add(task);
+            task = next;
+        }
+    }
+
+    /**
+     * Removes every task from the wheel.
+     *
+     * @param removed the list to collect the removed tasks into
+     */
+    void clear(List<ScheduledTask> removed) {
+        for (Bucket[] buckets : this.levels) {
+            for (Bucket bucket : buckets) {
+                for (ScheduledTask task = bucket.drain(); task != null; ) {
+                    ScheduledTask next = task.next;
+                    task.next = null;
+
+                    removed.add(task);
+                    task = next;
+                }
+            }
+        }
+
+        this.size = 0;
+    }
+
+    private static int shift(int level) {
+        return level == 0 ? 0 : ROOT_BITS + (level - 1) * LEVEL_BITS;
+    }
+
+    private static Bucket[] createBuckets(int size) {
+        Bucket[] buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+
+        return buckets;
+    }
+
+    /**
+     * A slot in the wheel, holding its tasks in insertion order.
+     */
+    static final class Bucket {
+        private ScheduledTask head;
+        private ScheduledTask tail;
+
+        void add(ScheduledTask task) {
+            task.bucket = this;
+            task.previous = this.tail;
+            task.next = null;
+            if (this.tail == null) {
+                this.head = task;
+            } else {
+                this.tail.next = task;
+            }
+
+            this.tail = task;
+        }
+
+        void remove(ScheduledTask task) {
+            if (task.previous == null) {
+                this.head = task.next;
+            } else {
+                task.previous.next = task.next;
+            }
+
+            if (task.next == null) {
+                this.tail = task.previous;
+            } else {
+                task.next.previous = task.previous;
+            }
+
+            task.bucket = null;
+            task.previous = null;
+            task.next = null;
+        }
+
+        /**
+         * Detaches every task from this bucket.
+         *
+         * @return the first task, linked to the rest through {@link ScheduledTask#next}
+         */
+        ScheduledTask drain() {
+            ScheduledTask head = this.head;
+            for (ScheduledTask task = head; task != null; task = task.next) {
+                task.bucket = null;
+                task.previous = null;
+            }
+
+            this.head = null;
+            this.tail = null;
+            return head;
+        }
+    }
+}
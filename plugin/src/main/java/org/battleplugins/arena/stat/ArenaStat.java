@@ -37,6 +37,44 @@ public interface ArenaStat<T> extends Describable {
      */
     Class<T> getType();
 
+    /**
+     * Gets whether changes to this stat are coalesced.
+     * <p>
+     * Coalesced stats are stored as soon as they change, but only
+     * announced once per tick, in a single
+     * {@link org.battleplugins.arena.event.player.ArenaStatsChangeEvent}
+     * holding every coalesced change of the holder. This is intended for
+     * stats which change very frequently, such as damage dealt.
+     *
+     * @return whether changes to this stat are coalesced
+     */
+    default boolean isCoalesced() {
+        return false;
+    }
+
+    /**
+     * Gets whether the values of this stat add up across matches.
+     * <p>
+     * Only cumulative stats, such as kills, are added to the lifetime
+     * stats of a player. Stats which only describe the state of a
+     * player within a match, such as their remaining lives, are not.
+     *
+     * @return whether this stat is cumulative
+     */
+    default boolean isCumulative() {
+        return true;
+    }
+
+    /**
+     * Gets the dense ordinal of the stat, which is assigned when
+     * the stat is registered in {@link ArenaStats}.
+     *
+     * @return the ordinal of the stat, or -1 if the stat is not registered
+     */
+    default int getOrdinal() {
+        return ArenaStats.ordinal(this);
+    }
+
     @Override
     default String describe() {
         return this.getName();
@@ -1,16 +1,24 @@
 package org.battleplugins.arena.stat;
 
+import org.battleplugins.arena.resolver.ResolverKeys;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public final class ArenaStats {
     private static final Map<String, ArenaStat<?>> STATS = new HashMap<>();
 
+    // Registered stats by their dense ordinal, used to address stat tables
+    private static final List<ArenaStat<?>> STATS_BY_ORDINAL = new ArrayList<>();
+    private static final Map<ArenaStat<?>, Integer> ORDINALS = new IdentityHashMap<>();
+
     public static final ArenaStat<Integer> DEATHS = register(new SimpleArenaStat<>("deaths", "Deaths", 0, Integer.class));
-    public static final ArenaStat<Integer> LIVES = register(new SimpleArenaStat<>("lives", "Lives", 1, Integer.class));
+    public static final ArenaStat<Integer> LIVES = register(new SimpleArenaStat<>("lives", "Lives", 1, Integer.class, false, false));
     public static final ArenaStat<Integer> KILLS = register(new SimpleArenaStat<>("kills", "Kills", 0, Integer.class));
 
     private ArenaStats() {
@@ -18,6 +26,20 @@ public final class ArenaStats {
 
     public static <T extends ArenaStat<?>> T register(T stat) {
         STATS.put(stat.getKey(), stat);
+
+        // Assign the stat the next dense ordinal
+        if (!ORDINALS.containsKey(stat)) {
+            int ordinal = STATS_BY_ORDINAL.size();
+            STATS_BY_ORDINAL.add(stat);
+            ORDINALS.put(stat, ordinal);
+
+            if (stat instanceof SimpleArenaStat<?> simpleStat) {
+                simpleStat.setOrdinal(ordinal);
+            }
+        }
+
+        // Intern the resolver key of the stat up front
+        ResolverKeys.stat(stat);
         return stat;
     }
 
@@ -29,4 +51,29 @@ public final class ArenaStats {
     public static Set<ArenaStat<?>> values() {
         return Set.copyOf(STATS.values());
     }
+
+    /**
+     * Gets the dense ordinal of the given stat, assigned when the
+     * stat was {@link #register(ArenaStat) registered}.
+     *
+     * @param stat the stat to get the ordinal of
+     * @return the ordinal of the stat, or -1 if the stat is not registered
+     */
+    public static int ordinal(ArenaStat<?> stat) {
+        Integer ordinal = ORDINALS.get(stat);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the number of registered stats.
+     *
+     * @return the number of registered stats
+     */
+    public static int size() {
+        return STATS_BY_ORDINAL.size();
+    }
+
+    static ArenaStat<?> byOrdinal(int ordinal) {
+        return STATS_BY_ORDINAL.get(ordinal);
+    }
 }
@@ -5,12 +5,26 @@ public class SimpleArenaStat<T> implements ArenaStat<T> {
     private final String name;
     private final T defaultValue;
     private final Class<T> type;
+    private final boolean coalesced;
+    private final boolean cumulative;
+
+    private int ordinal = -1;
 
     public SimpleArenaStat(String key, String name, T defaultValue, Class<T> type) {
+        this(key, name, defaultValue, type, false);
+    }
+
+    public SimpleArenaStat(String key, String name, T defaultValue, Class<T> type, boolean coalesced) {
+        this(key, name, defaultValue, type, coalesced, true);
+    }
+
+    public SimpleArenaStat(String key, String name, T defaultValue, Class<T> type, boolean coalesced, boolean cumulative) {
         this.key = key;
         this.name = name;
         this.defaultValue = defaultValue;
         this.type = type;
+        this.coalesced = coalesced;
+        this.cumulative = cumulative;
     }
 
     @Override
@@ -32,4 +46,23 @@ public class SimpleArenaStat<T> implements ArenaStat<T> {
     public Class<T> getType() {
         return this.type;
     }
+
+    @Override
+    public boolean isCoalesced() {
+        return this.coalesced;
+    }
+
+    @Override
+    public boolean isCumulative() {
+        return this.cumulative;
+    }
+
+    @Override
+    public int getOrdinal() {
+        return this.ordinal;
+    }
+
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
 }
@@ -0,0 +1,14 @@
+package org.battleplugins.arena.stat;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A change to the value of an {@link ArenaStat}.
+ *
+ * @param stat the stat that changed
+ * @param oldValue the value of the stat before the change
+ * @param newValue the value of the stat after the change
+ * @param <T> the type of the stat
+ */
+public record StatChange<T>(ArenaStat<T> stat, @Nullable T oldValue, @Nullable T newValue) {
+}
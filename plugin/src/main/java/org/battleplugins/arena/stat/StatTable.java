@@ -0,0 +1,285 @@
+package org.battleplugins.arena.stat;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A table of stat values, addressed by the ordinal of each
+ * {@link ArenaStat}.
+ * <p>
+ * Integer and double stats are kept in primitive arrays, so reading and
+ * incrementing them does not allocate. Stats of any other type are kept
+ * as objects, and stats that were never registered in {@link ArenaStats}
+ * fall back to a map.
+ * <p>
+ * This table does not call any events, and is intended to be used as
+ * the storage behind a {@link StatHolder}.
+ */
+public final class StatTable {
+    private int[] ints = new int[0];
+    private double[] doubles = new double[0];
+    private Object[] objects = new Object[0];
+    private long[] present = new long[0];
+
+    private Map<ArenaStat<?>, Object> unregistered;
+
+    /**
+     * Creates a new table holding the default value of every registered stat.
+     *
+     * @return the new table
+     */
+    public static StatTable withDefaults() {
+        StatTable table = new StatTable();
+        for (int i = 0; i < ArenaStats.size(); i++) {
+            setDefault(table, ArenaStats.byOrdinal(i));
+        }
+
+        return table;
+    }
+
+    private static <T> void setDefault(StatTable table, ArenaStat<T> stat) {
+        table.set(stat, stat.getDefaultValue());
+    }
+
+    /**
+     * Returns whether this table holds a value for the given stat.
+     *
+     * @param stat the stat to check
+     * @return whether this table holds a value for the stat
+     */
+    public boolean has(ArenaStat<?> stat) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0) {
+            return this.unregistered != null && this.unregistered.containsKey(stat);
+        }
+
+        return this.isPresent(ordinal);
+    }
+
+    /**
+     * Gets the value of the given stat.
+     *
+     * @param stat the stat to get
+     * @param <T> the type of the stat
+     * @return the value of the stat, or null if it is not set
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(ArenaStat<T> stat) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0) {
+            return this.unregistered == null ? null : (T) this.unregistered.get(stat);
+        }
+
+        if (!this.isPresent(ordinal)) {
+            return null;
+        }
+
+        Class<T> type = stat.getType();
+        if (type == Integer.class) {
+            return (T) Integer.valueOf(this.ints[ordinal]);
+        } else if (type == Double.class) {
+            return (T) Double.valueOf(this.doubles[ordinal]);
+        }
+
+        return (T) this.objects[ordinal];
+    }
+
+    /**
+     * Gets the value of the given integer stat.
+     *
+     * @param stat the stat to get
+     * @return the value of the stat, or 0 if it is not set
+     */
+    public int getInt(ArenaStat<Integer> stat) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0 || stat.getType() != Integer.class) {
+            Integer value = this.get(stat);
+            return value == null ? 0 : value;
+        }
+
+        return this.isPresent(ordinal) ? this.ints[ordinal] : 0;
+    }
+
+    /**
+     * Gets the value of the given numeric stat as a double.
+     *
+     * @param stat the stat to get
+     * @return the value of the stat, or 0 if it is not set
+     */
+    public double getDouble(ArenaStat<? extends Number> stat) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal >= 0 && this.isPresent(ordinal)) {
+            Class<?> type = stat.getType();
+            if (type == Integer.class) {
+                return this.ints[ordinal];
+            } else if (type == Double.class) {
+                return this.doubles[ordinal];
+            }
+        }
+
+        Number value = this.get(stat);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    /**
+     * Sets the value of the given stat.
+     *
+     * @param stat the stat to set
+     * @param value the value to set, or null to remove the stat
+     * @param <T> the type of the stat
+     */
+    public <T> void set(ArenaStat<T> stat, @Nullable T value) {
+        if (value == null) {
+            this.remove(stat);
+            return;
+        }
+
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0) {
+            if (this.unregistered == null) {
+                this.unregistered = new HashMap<>();
+            }
+
+            this.unregistered.put(stat, value);
+            return;
+        }
+
+        this.ensureCapacity(ordinal);
+
+        Class<T> type = stat.getType();
+        if (type == Integer.class) {
+            this.ints[ordinal] = (Integer) value;
+        } else if (type == Double.class) {
+            this.doubles[ordinal] = (Double) value;
+        } else {
+            this.objects[ordinal] = value;
+        }
+
+        this.present[ordinal >>> 6] |= 1L << ordinal;
+    }
+
+    /**
+     * Increments the given integer stat. A stat that is
+     * not set is treated as 0.
+     *
+     * @param stat the stat to increment
+     * @param amount the amount to increment by
+     * @return the new value of the stat
+     */
+    public int increment(ArenaStat<Integer> stat, int amount) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0 || stat.getType() != Integer.class) {
+            int value = this.getInt(stat) + amount;
+            this.set(stat, value);
+            return value;
+        }
+
+        this.ensureCapacity(ordinal);
+        if (!this.isPresent(ordinal)) {
+            this.ints[ordinal] = 0;
+            this.present[ordinal >>> 6] |= 1L << ordinal;
+        }
+
+        return this.ints[ordinal] += amount;
+    }
+
+    /**
+     * Increments the given double stat. A stat that is
+     * not set is treated as 0.
+     *
+     * @param stat the stat to increment
+     * @param amount the amount to increment by
+     * @return the new value of the stat
+     */
+    public double increment(ArenaStat<Double> stat, double amount) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0 || stat.getType() != Double.class) {
+            double value = this.getDouble(stat) + amount;
+            this.set(stat, value);
+            return value;
+        }
+
+        this.ensureCapacity(ordinal);
+        if (!this.isPresent(ordinal)) {
+            this.doubles[ordinal] = 0;
+            this.present[ordinal >>> 6] |= 1L << ordinal;
+        }
+
+        return this.doubles[ordinal] += amount;
+    }
+
+    /**
+     * Removes the value of the given stat.
+     *
+     * @param stat the stat to remove
+     */
+    public void remove(ArenaStat<?> stat) {
+        int ordinal = stat.getOrdinal();
+        if (ordinal < 0) {
+            if (this.unregistered != null) {
+                this.unregistered.remove(stat);
+            }
+
+            return;
+        }
+
+        if (this.isPresent(ordinal)) {
+            this.present[ordinal >>> 6] &= ~(1L << ordinal);
+            this.objects[ordinal] = null;
+        }
+    }
+
+    /**
+     * Removes all values from this table.
+     */
+    public void clear() {
+        Arrays.fill(this.present, 0L);
+        Arrays.fill(this.objects, null);
+        if (this.unregistered != null) {
+            this.unregistered.clear();
+        }
+    }
+
+    /**
+     * Runs the given action for every stat this table holds a value for.
+     *
+     * @param action the action to run
+     */
+    public void forEach(Consumer<ArenaStat<?>> action) {
+        for (int i = 0; i < this.present.length; i++) {
+            long bits = this.present[i];
+            while (bits != 0) {
+                int ordinal = (i << 6) + Long.numberOfTrailingZeros(bits);
+                action.accept(ArenaStats.byOrdinal(ordinal));
+                bits &= bits - 1;
+            }
+        }
+
+        if (this.unregistered != null) {
+            this.unregistered.keySet().forEach(action);
+        }
+    }
+
+    private boolean isPresent(int ordinal) {
+        int word = ordinal >>> 6;
+        return word < this.present.length && (this.present[word] & (1L << ordinal)) != 0;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < this.ints.length) {
+            return;
+        }
+
+        // Stats registered after this table was created
+        int size = Math.max(ordinal + 1, ArenaStats.size());
+        this.ints = Arrays.copyOf(this.ints, size);
+        this.doubles = Arrays.copyOf(this.doubles, size);
+        this.objects = Arrays.copyOf(this.objects, size);
+        this.present = Arrays.copyOf(this.present, (size + 63) >>> 6);
+    }
+}
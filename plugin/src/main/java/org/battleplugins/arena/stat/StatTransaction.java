@@ -0,0 +1,54 @@
+package org.battleplugins.arena.stat;
+
+import java.util.function.Function;
+
+/**
+ * A set of changes to the stats of a {@link StatHolder} which are
+ * applied together.
+ * <p>
+ * Changes made in a transaction are visible to later changes in the
+ * same transaction, but are only stored, and announced in a single
+ * event, once the transaction is committed.
+ */
+public interface StatTransaction {
+
+    /**
+     * Gets the value the given stat will have once
+     * this transaction is committed.
+     *
+     * @param stat the stat to get
+     * @param <T> the type of the stat
+     * @return the value of the stat
+     */
+    <T> T get(ArenaStat<T> stat);
+
+    /**
+     * Sets the value of the given stat.
+     *
+     * @param stat the stat to set
+     * @param value the value to set the stat to
+     * @param <T> the type of the stat
+     * @return this transaction
+     */
+    <T> StatTransaction set(ArenaStat<T> stat, T value);
+
+    /**
+     * Computes the value of the given stat using the given function.
+     *
+     * @param stat the stat to compute
+     * @param computeFunction the function to compute the stat
+     * @param <T> the type of the stat
+     * @return this transaction
+     */
+    <T> StatTransaction compute(ArenaStat<T> stat, Function<? super T, ? extends T> computeFunction);
+
+    /**
+     * Increments the value of the given integer stat. A stat
+     * that is not set is treated as 0.
+     *
+     * @param stat the stat to increment
+     * @param amount the amount to increment the stat by
+     * @return this transaction
+     */
+    StatTransaction increment(ArenaStat<Integer> stat, int amount);
+}
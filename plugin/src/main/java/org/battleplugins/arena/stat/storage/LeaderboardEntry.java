@@ -0,0 +1,12 @@
+package org.battleplugins.arena.stat.storage;
+
+import java.util.UUID;
+
+/**
+ * An entry on a lifetime stat leaderboard.
+ *
+ * @param player the unique id of the player
+ * @param value the lifetime total of the stat for the player
+ */
+public record LeaderboardEntry(UUID player, double value) {
+}
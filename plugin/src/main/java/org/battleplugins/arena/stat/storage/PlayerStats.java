@@ -0,0 +1,74 @@
+package org.battleplugins.arena.stat.storage;
+
+import org.battleplugins.arena.stat.ArenaStat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The lifetime stats of a player, summed across every
+ * competition they have played in.
+ */
+public final class PlayerStats {
+    private final UUID uuid;
+
+    // Arena name -> stat key -> total
+    private final Map<String, Map<String, Double>> totals;
+
+    PlayerStats(UUID uuid, Map<String, Map<String, Double>> totals) {
+        this.uuid = uuid;
+        this.totals = totals;
+    }
+
+    /**
+     * Gets the unique id of the player these stats belong to.
+     *
+     * @return the unique id of the player
+     */
+    public UUID getUniqueId() {
+        return this.uuid;
+    }
+
+    /**
+     * Gets the lifetime total of the given stat in the given arena.
+     *
+     * @param arena the name of the arena
+     * @param stat the stat to get the total of
+     * @return the lifetime total of the stat in the arena
+     */
+    public double get(String arena, ArenaStat<?> stat) {
+        Map<String, Double> stats = this.totals.get(arena.toLowerCase());
+        return stats == null ? 0 : stats.getOrDefault(stat.getKey(), 0D);
+    }
+
+    /**
+     * Gets the lifetime total of the given stat across all arenas.
+     *
+     * @param stat the stat to get the total of
+     * @return the lifetime total of the stat across all arenas
+     */
+    public double getTotal(ArenaStat<?> stat) {
+        double total = 0;
+        for (Map<String, Double> stats : this.totals.values()) {
+            total += stats.getOrDefault(stat.getKey(), 0D);
+        }
+
+        return total;
+    }
+
+    Map<String, Map<String, Double>> getTotals() {
+        return this.totals;
+    }
+
+    PlayerStats with(Map<String, Map<String, Double>> deltas) {
+        Map<String, Map<String, Double>> totals = new HashMap<>(this.totals.size() + deltas.size());
+        this.totals.forEach((arena, stats) -> totals.put(arena, new HashMap<>(stats)));
+        deltas.forEach((arena, stats) -> {
+            Map<String, Double> arenaTotals = totals.computeIfAbsent(arena, e -> new HashMap<>());
+            stats.forEach((stat, value) -> arenaTotals.merge(stat, value, Double::sum));
+        });
+
+        return new PlayerStats(this.uuid, totals);
+    }
+}
@@ -0,0 +1,126 @@
+package org.battleplugins.arena.stat.storage;
+
+import org.battleplugins.arena.BattleArena;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The on-disk log of the stats of a single player.
+ * <p>
+ * Every match appends one line per stat in the form
+ * {@code <arena>\t<stat>\t<value>}, and the lifetime stats of the
+ * player are the sum of all lines. Once the log grows past
+ * {@link #COMPACT_THRESHOLD} bytes, it is rewritten to hold a single
+ * line per arena and stat.
+ * <p>
+ * This class is only ever used from the storage thread.
+ */
+final class StatLog {
+    private static final long COMPACT_THRESHOLD = 16 * 1024;
+
+    private final BattleArena plugin;
+    private final Path directory;
+
+    StatLog(BattleArena plugin, Path directory) {
+        this.plugin = plugin;
+        this.directory = directory;
+    }
+
+    PlayerStats load(UUID uuid) throws IOException {
+        Path path = this.path(uuid);
+        if (Files.notExists(path)) {
+            return new PlayerStats(uuid, Map.of());
+        }
+
+        return new PlayerStats(uuid, this.read(path));
+    }
+
+    void append(UUID uuid, Map<String, Map<String, Double>> deltas) throws IOException {
+        Files.createDirectories(this.directory);
+
+        Path path = this.path(uuid);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            write(writer, deltas);
+        }
+
+        if (Files.size(path) > COMPACT_THRESHOLD) {
+            this.compact(path);
+        }
+    }
+
+    List<Path> list() throws IOException {
+        if (Files.notExists(this.directory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(this.directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).toList();
+        }
+    }
+
+    static UUID uuid(Path path) {
+        String fileName = path.getFileName().toString();
+        return UUID.fromString(fileName.substring(0, fileName.length() - ".log".length()));
+    }
+
+    private void compact(Path path) throws IOException {
+        Map<String, Map<String, Double>> totals = this.read(path);
+
+        // Write to a temporary file first, so a crash while compacting
+        // never leaves a partially written log behind
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            write(writer, totals);
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<String, Map<String, Double>> read(Path path) throws IOException {
+        Map<String, Map<String, Double>> totals = new HashMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] split = line.split("\t");
+            if (split.length != 3) {
+                // Most likely a partially written line from a crash
+                this.plugin.warn("Skipping malformed line in stats file {}: {}", path.getFileName(), line);
+                continue;
+            }
+
+            try {
+                totals.computeIfAbsent(split[0], e -> new HashMap<>()).merge(split[1], Double.parseDouble(split[2]), Double::sum);
+            } catch (NumberFormatException e) {
+                this.plugin.warn("Skipping malformed line in stats file {}: {}", path.getFileName(), line);
+            }
+        }
+
+        return totals;
+    }
+
+    private Path path(UUID uuid) {
+        return this.directory.resolve(uuid + ".log");
+    }
+
+    private static void write(BufferedWriter writer, Map<String, Map<String, Double>> stats) throws IOException {
+        for (Map.Entry<String, Map<String, Double>> arenaEntry : stats.entrySet()) {
+            for (Map.Entry<String, Double> statEntry : arenaEntry.getValue().entrySet()) {
+                double value = statEntry.getValue();
+                writer.write(arenaEntry.getKey());
+                writer.write('\t');
+                writer.write(statEntry.getKey());
+                writer.write('\t');
+                writer.write(value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package org.battleplugins.arena.stat.storage;
+
+import org.battleplugins.arena.ArenaPlayer;
+import org.battleplugins.arena.BattleArena;
+import org.battleplugins.arena.BattleArenaConfig;
+import org.battleplugins.arena.stat.ArenaStat;
+import org.battleplugins.arena.stat.ArenaStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stores the lifetime stats of players on disk.
+ * <p>
+ * The results of each match are queued from the main thread and written
+ * behind on a dedicated storage thread, which batches every result queued
+ * since its last flush into a single write per player. Reads are served
+ * from a bounded cache, and fall back to loading from disk on the storage
+ * thread. No method of this class blocks the calling thread, except for
+ * {@link #close()}.
+ */
+public class StatStorage {
+    private static final int MAX_CACHED_PLAYERS = 1024;
+    private static final int MAX_CACHED_LEADERBOARDS = 128;
+    private static final int LEADERBOARD_SIZE = 100;
+    private static final long LEADERBOARD_EXPIRY = TimeUnit.MINUTES.toMillis(5);
+
+    private final BattleArena plugin;
+    private final StatLog log;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BattleArena Stat Storage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ConcurrentLinkedQueue<MatchResult> pendingResults = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Map<UUID, PlayerStats> cachedStats = new LinkedHashMap<>(16, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, PlayerStats> eldest) {
+            return this.size() > MAX_CACHED_PLAYERS;
+        }
+    };
+
+    private final Map<LeaderboardKey, CachedLeaderboard> cachedLeaderboards = new LinkedHashMap<>(16, 0.75F, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LeaderboardKey, CachedLeaderboard> eldest) {
+            return this.size() > MAX_CACHED_LEADERBOARDS;
+        }
+    };
+
+    public StatStorage(BattleArena plugin, Path directory) {
+        this.plugin = plugin;
+        this.log = new StatLog(plugin, directory);
+    }
+
+    /**
+     * Queues the stats the given {@link ArenaPlayer} has earned in their
+     * current competition to be added to their lifetime stats.
+     *
+     * @param player the player to record the stats of
+     */
+    public void record(ArenaPlayer player) {
+        BattleArenaConfig config = this.plugin.getMainConfig();
+        if (config == null || !config.isSaveStats()) {
+            return;
+        }
+
+        Map<String, Double> values = new HashMap<>();
+        for (ArenaStat<?> stat : ArenaStats.values()) {
+            if (!stat.isCumulative()) {
+                continue;
+            }
+
+            if (player.getStat(stat) instanceof Number number && number.doubleValue() != 0) {
+                values.put(stat.getKey(), number.doubleValue());
+            }
+        }
+
+        if (values.isEmpty()) {
+            return;
+        }
+
+        if (this.executor.isShutdown()) {
+            this.plugin.warn("Cannot save stats for {} as stat storage has been closed!", player.getPlayer().getName());
+            return;
+        }
+
+        this.pendingResults.add(new MatchResult(player.getPlayer().getUniqueId(), player.getArena().getName().toLowerCase(), values));
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Gets the lifetime stats of the player with the given unique id.
+     * <p>
+     * Results which are still queued to be written are not included.
+     *
+     * @param uuid the unique id of the player
+     * @return a future completed with the lifetime stats of the player
+     */
+    public CompletableFuture<PlayerStats> getStats(UUID uuid) {
+        synchronized (this.cachedStats) {
+            PlayerStats stats = this.cachedStats.get(uuid);
+            if (stats != null) {
+                return CompletableFuture.completedFuture(stats);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> this.loadStats(uuid), this.executor);
+    }
+
+    /**
+     * Gets the players with the highest lifetime total of the given
+     * stat in the given arena.
+     * <p>
+     * Leaderboards are computed on the storage thread and cached for
+     * a few minutes, so they may not reflect the latest results.
+     *
+     * @param arena the name of the arena
+     * @param stat the stat to rank players by
+     * @param limit the maximum number of entries to get
+     * @return a future completed with the entries of the leaderboard
+     */
+    public CompletableFuture<List<LeaderboardEntry>> getLeaderboard(String arena, ArenaStat<?> stat, int limit) {
+        LeaderboardKey key = new LeaderboardKey(arena.toLowerCase(), stat.getKey());
+        synchronized (this.cachedLeaderboards) {
+            CachedLeaderboard leaderboard = this.cachedLeaderboards.get(key);
+            if (leaderboard != null && System.currentTimeMillis() - leaderboard.computedAt() < LEADERBOARD_EXPIRY) {
+                return CompletableFuture.completedFuture(truncate(leaderboard.entries(), limit));
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> truncate(this.computeLeaderboard(key), limit), this.executor);
+    }
+
+    /**
+     * Writes all queued results and stops the storage thread. This
+     * waits for the queued results to be written, so it should only
+     * be called when the plugin is shutting down.
+     */
+    public void close() {
+        this.executor.execute(this::flush);
+        this.executor.shutdown();
+
+        try {
+            if (!this.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                this.plugin.warn("Timed out waiting for {} stat results to be saved!", this.pendingResults.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        this.flushScheduled.set(false);
+
+        // Merge every queued result per player, so each player
+        // is only written once no matter how many matches ended
+        Map<UUID, Map<String, Map<String, Double>>> deltas = new HashMap<>();
+        MatchResult result;
+        while ((result = this.pendingResults.poll()) != null) {
+            Map<String, Double> arenaDeltas = deltas.computeIfAbsent(result.uuid(), e -> new HashMap<>())
+                    .computeIfAbsent(result.arena(), e -> new HashMap<>());
+
+            result.values().forEach((stat, value) -> arenaDeltas.merge(stat, value, Double::sum));
+        }
+
+        for (Map.Entry<UUID, Map<String, Map<String, Double>>> entry : deltas.entrySet()) {
+            try {
+                this.log.append(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                this.plugin.error("Failed to save stats for {}", entry.getKey(), e);
+                continue;
+            }
+
+            synchronized (this.cachedStats) {
+                PlayerStats stats = this.cachedStats.get(entry.getKey());
+                if (stats != null) {
+                    this.cachedStats.put(entry.getKey(), stats.with(entry.getValue()));
+                }
+            }
+        }
+    }
+
+    private PlayerStats loadStats(UUID uuid) {
+        synchronized (this.cachedStats) {
+            PlayerStats stats = this.cachedStats.get(uuid);
+            if (stats != null) {
+                return stats;
+            }
+        }
+
+        PlayerStats stats;
+        try {
+            stats = this.log.load(uuid);
+        } catch (IOException e) {
+            this.plugin.error("Failed to load stats for {}", uuid, e);
+            return new PlayerStats(uuid, Map.of());
+        }
+
+        synchronized (this.cachedStats) {
+            this.cachedStats.put(uuid, stats);
+        }
+
+        return stats;
+    }
+
+    private List<LeaderboardEntry> computeLeaderboard(LeaderboardKey key) {
+        PriorityQueue<LeaderboardEntry> top = new PriorityQueue<>(Comparator.comparingDouble(LeaderboardEntry::value));
+        try {
+            for (Path path : this.log.list()) {
+                PlayerStats playerStats;
+                try {
+                    playerStats = this.peekStats(StatLog.uuid(path));
+                } catch (IllegalArgumentException | IOException e) {
+                    this.plugin.warn("Skipping stats file {} when computing leaderboard: {}", path.getFileName(), e.getMessage());
+                    continue;
+                }
+
+                UUID uuid = playerStats.getUniqueId();
+                Map<String, Double> stats = playerStats.getTotals().get(key.arena());
+                Double value = stats == null ? null : stats.get(key.stat());
+                if (value == null) {
+                    continue;
+                }
+
+                top.add(new LeaderboardEntry(uuid, value));
+                if (top.size() > LEADERBOARD_SIZE) {
+                    top.poll();
+                }
+            }
+        } catch (IOException e) {
+            this.plugin.error("Failed to compute leaderboard for {} in {}", key.stat(), key.arena(), e);
+        }
+
+        List<LeaderboardEntry> entries = new ArrayList<>(top);
+        entries.sort(Comparator.comparingDouble(LeaderboardEntry::value).reversed());
+        entries = List.copyOf(entries);
+
+        synchronized (this.cachedLeaderboards) {
+            this.cachedLeaderboards.put(key, new CachedLeaderboard(entries, System.currentTimeMillis()));
+        }
+
+        return entries;
+    }
+
+    // Loads stats without caching them, so computing a leaderboard
+    // does not evict the players that are actually being read
+    private PlayerStats peekStats(UUID uuid) throws IOException {
+        synchronized (this.cachedStats) {
+            PlayerStats stats = this.cachedStats.get(uuid);
+            if (stats != null) {
+                return stats;
+            }
+        }
+
+        return this.log.load(uuid);
+    }
+
+    private static List<LeaderboardEntry> truncate(List<LeaderboardEntry> entries, int limit) {
+        return entries.size() <= limit ? entries : List.copyOf(entries.subList(0, limit));
+    }
+
+    private record MatchResult(UUID uuid, String arena, Map<String, Double> values) {
+    }
+
+    private record LeaderboardKey(String arena, String stat) {
+    }
+
+    private record CachedLeaderboard(List<LeaderboardEntry> entries, long computedAt) {
+    }
+}
@@ -5,6 +5,7 @@ import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
@@ -14,10 +15,39 @@ import com.sk89q.worldedit.session.ClipboardHolder;
 import org.battleplugins.arena.BattleArena;
 import org.battleplugins.arena.competition.map.options.Bounds;
 import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
 
 public final class BlockUtil {
 
     public static boolean copyToWorld(World oldWorld, World newWorld, Bounds bounds) {
+        return copyToWorld(oldWorld, newWorld, bounds, true);
+    }
+
+    public static boolean resetRegion(World sourceWorld, World world, Bounds bounds) {
+        // Air has to be pasted as well to remove any blocks placed in the region
+        return copyToWorld(sourceWorld, world, bounds, false);
+    }
+
+    public static boolean copyToWorld(MapClipboard clipboard, World newWorld, Bounds bounds) {
+        return pasteToWorld(clipboard, newWorld, bounds, true);
+    }
+
+    public static boolean resetRegion(MapClipboard clipboard, World world, Bounds bounds) {
+        return pasteToWorld(clipboard, world, bounds, false);
+    }
+
+    @Nullable
+    public static MapClipboard capture(World world, Bounds bounds) {
+        try {
+            return MapClipboard.capture(world, bounds);
+        } catch (WorldEditException e) {
+            // Error creating schematic
+            BattleArena.getInstance().error("Failed to create copy of region in world {}!", world.getName(), e);
+            return null;
+        }
+    }
+
+    private static boolean copyToWorld(World oldWorld, World newWorld, Bounds bounds, boolean ignoreAirBlocks) {
         CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
         BlockArrayClipboard clipboard = new BlockArrayClipboard(region);
         ForwardExtentCopy copy = new ForwardExtentCopy(BukkitAdapter.adapt(oldWorld), region, clipboard, region.getMinimumPoint());
@@ -30,10 +60,29 @@ public final class BlockUtil {
             return false;
         }
 
+        return paste(clipboard, newWorld, bounds, ignoreAirBlocks);
+    }
+
+    private static boolean pasteToWorld(MapClipboard mapClipboard, World newWorld, Bounds bounds, boolean ignoreAirBlocks) {
+        Clipboard clipboard;
+        try {
+            clipboard = mapClipboard.toClipboard();
+        } catch (WorldEditException e) {
+            BattleArena.getInstance().error("Failed to restore cached copy when copying region to another world!", e);
+            return false;
+        }
+
+        return paste(clipboard, newWorld, bounds, ignoreAirBlocks);
+    }
+
+    private static boolean paste(Clipboard clipboard, World newWorld, Bounds bounds, boolean ignoreAirBlocks) {
         try (EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(newWorld))) {
+            // Skipping air is a heavy optimization when copying into a freshly
+            // created void world, where every block is air already. Resetting
+            // a recycled world has to paste air too, to clear placed blocks.
             Operation operation = new ClipboardHolder(clipboard)
                     .createPaste(session)
-                    .ignoreAirBlocks(true) // its a void world so no issue. its a heavy optimization.
+                    .ignoreAirBlocks(ignoreAirBlocks)
                     .to(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()))
                     .build();
 
@@ -0,0 +1,198 @@
+package org.battleplugins.arena.util;
+
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.entity.BaseEntity;
+import com.sk89q.worldedit.entity.Entity;
+import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
+import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.util.Location;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.battleplugins.arena.competition.map.options.Bounds;
+import org.bukkit.World;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A compact copy of the blocks and entities within the bounds of a map.
+ * <p>
+ * Every block is stored as an index into a palette of the distinct block
+ * states of the map, and the indices are compressed. Blocks with extra
+ * data, such as chests or signs, are stored separately as they are rare.
+ */
+public final class MapClipboard {
+    // Rough size of a palette entry or block entity, used to estimate the memory usage
+    private static final int PALETTE_ENTRY_SIZE = 16;
+    private static final int BLOCK_ENTITY_SIZE = 256;
+
+    private final CuboidRegion region;
+    private final BlockState[] palette;
+    private final byte[] blocks;
+    private final Map<Integer, BaseBlock> blockEntities;
+    private final List<EntityData> entities;
+
+    private MapClipboard(CuboidRegion region, BlockState[] palette, byte[] blocks, Map<Integer, BaseBlock> blockEntities, List<EntityData> entities) {
+        this.region = region;
+        this.palette = palette;
+        this.blocks = blocks;
+        this.blockEntities = blockEntities;
+        this.entities = entities;
+    }
+
+    /**
+     * Captures the blocks and entities within the given bounds of
+     * the given world.
+     *
+     * @param world the world to capture
+     * @param bounds the bounds to capture
+     * @return the captured clipboard
+     * @throws WorldEditException if the region could not be read
+     */
+    public static MapClipboard capture(World world, Bounds bounds) throws WorldEditException {
+        CuboidRegion region = new CuboidRegion(BlockVector3.at(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ()), BlockVector3.at(bounds.getMaxX(), bounds.getMaxY(), bounds.getMaxZ()));
+        BlockArrayClipboard clipboard = new BlockArrayClipboard(region);
+        ForwardExtentCopy copy = new ForwardExtentCopy(BukkitAdapter.adapt(world), region, clipboard, region.getMinimumPoint());
+        Operations.complete(copy);
+
+        Map<BlockState, Integer> paletteIndices = new HashMap<>();
+        List<BlockState> palette = new ArrayList<>();
+        Map<Integer, BaseBlock> blockEntities = new HashMap<>();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            int position = 0;
+            for (int y = region.getMinimumPoint().getY(); y <= region.getMaximumPoint().getY(); y++) {
+                for (int z = region.getMinimumPoint().getZ(); z <= region.getMaximumPoint().getZ(); z++) {
+                    for (int x = region.getMinimumPoint().getX(); x <= region.getMaximumPoint().getX(); x++) {
+                        BaseBlock block = clipboard.getFullBlock(BlockVector3.at(x, y, z));
+                        if (block.hasNbtData()) {
+                            blockEntities.put(position, block);
+                        }
+
+                        BlockState state = block.toImmutableState();
+                        Integer index = paletteIndices.get(state);
+                        if (index == null) {
+                            index = palette.size();
+                            paletteIndices.put(state, index);
+                            palette.add(state);
+                        }
+
+                        writeVarInt(output, index);
+                        position++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Cannot happen when writing to memory
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+
+        List<EntityData> entities = new ArrayList<>();
+        for (Entity entity : clipboard.getEntities()) {
+            BaseEntity state = entity.getState();
+            if (state != null) {
+                // Keep only the position, as the location references the source clipboard
+                Location location = entity.getLocation();
+                entities.add(new EntityData(location.toVector(), location.getYaw(), location.getPitch(), state));
+            }
+        }
+
+        return new MapClipboard(region, palette.toArray(BlockState[]::new), bytes.toByteArray(), Map.copyOf(blockEntities), List.copyOf(entities));
+    }
+
+    /**
+     * Creates a new clipboard from the captured blocks and entities,
+     * which can then be pasted into another world.
+     *
+     * @return the new clipboard
+     * @throws WorldEditException if the blocks could not be set
+     */
+    public Clipboard toClipboard() throws WorldEditException {
+        BlockArrayClipboard clipboard = new BlockArrayClipboard(this.region);
+
+        try (DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(this.blocks)))) {
+            int position = 0;
+            for (int y = this.region.getMinimumPoint().getY(); y <= this.region.getMaximumPoint().getY(); y++) {
+                for (int z = this.region.getMinimumPoint().getZ(); z <= this.region.getMaximumPoint().getZ(); z++) {
+                    for (int x = this.region.getMinimumPoint().getX(); x <= this.region.getMaximumPoint().getX(); x++) {
+                        BlockState state = this.palette[readVarInt(input)];
+                        BaseBlock blockEntity = this.blockEntities.get(position);
+                        if (blockEntity != null) {
+                            clipboard.setBlock(BlockVector3.at(x, y, z), blockEntity);
+                        } else {
+                            clipboard.setBlock(BlockVector3.at(x, y, z), state);
+                        }
+
+                        position++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Cannot happen when reading from memory
+            throw new UncheckedIOException(e);
+        }
+
+        for (EntityData entity : this.entities) {
+            clipboard.createEntity(new Location(clipboard, entity.position(), entity.yaw(), entity.pitch()), entity.state());
+        }
+
+        return clipboard;
+    }
+
+    /**
+     * Gets the estimated number of bytes this clipboard uses in memory.
+     *
+     * @return the estimated memory usage in bytes
+     */
+    public long getMemorySize() {
+        return this.blocks.length
+                + (long) this.palette.length * PALETTE_ENTRY_SIZE
+                + (long) (this.blockEntities.size() + this.entities.size()) * BLOCK_ENTITY_SIZE;
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte read;
+        do {
+            read = input.readByte();
+            value |= (read & 0x7F) << shift;
+            shift += 7;
+        } while ((read & 0x80) != 0);
+
+        return value;
+    }
+
+    private record EntityData(Vector3 position, float yaw, float pitch, BaseEntity state) {
+    }
+}
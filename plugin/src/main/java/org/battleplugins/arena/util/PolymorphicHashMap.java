@@ -1,25 +1,176 @@
 package org.battleplugins.arena.util;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * A {@link HashMap} keyed by classes, where lookups also match
+ * any subclass of a key.
+ * <p>
+ * The most specific key for a looked up class is resolved once and
+ * memoized per class (including classes with no matching key), so
+ * repeated lookups are a single {@link ClassValue} probe. The memoized
+ * results are discarded whenever the map is modified.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
 public class PolymorphicHashMap<K extends Class<?>, V> extends HashMap<K, V> {
+    private static final Object NO_MATCH = new Object();
+
+    private volatile ClassValue<Object> lookup = this.createLookup();
 
     @Override
     public boolean containsKey(Object key) {
-        return this.findEntry((K) key).isPresent();
+        return this.find(key) != NO_MATCH;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public V get(Object key) {
-        Optional<Entry<K, V>> entry = this.findEntry((K) key);
-        return entry.map(Entry::getValue).orElse(null);
+        Object value = this.find(key);
+        return value == NO_MATCH ? null : (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        Object value = this.find(key);
+        return value == NO_MATCH ? defaultValue : (V) value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V previous = super.put(key, value);
+        this.invalidate();
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        super.putAll(map);
+        this.invalidate();
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        V previous = super.putIfAbsent(key, value);
+        this.invalidate();
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        V previous = super.remove(key);
+        this.invalidate();
+        return previous;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        boolean removed = super.remove(key, value);
+        this.invalidate();
+        return removed;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = super.computeIfAbsent(key, mappingFunction);
+        this.invalidate();
+        return value;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V value = super.computeIfPresent(key, remappingFunction);
+        this.invalidate();
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V value = super.compute(key, remappingFunction);
+        this.invalidate();
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        V merged = super.merge(key, value, remappingFunction);
+        this.invalidate();
+        return merged;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.invalidate();
+    }
+
+    private Object find(Object key) {
+        if (!(key instanceof Class<?> clazz)) {
+            return NO_MATCH;
+        }
+
+        return this.lookup.get(clazz);
+    }
+
+    private void invalidate() {
+        // A fresh ClassValue drops every memoized result at once; the
+        // previous one is collected along with its per-class entries
+        this.lookup = this.createLookup();
+    }
+
+    private ClassValue<Object> createLookup() {
+        return new ClassValue<>() {
+
+            @Override
+            protected Object computeValue(Class<?> type) {
+                Object value = PolymorphicHashMap.this.findMostSpecific(type);
+                return value == null ? NO_MATCH : value;
+            }
+        };
     }
 
-    private Optional<Entry<K, V>> findEntry(K key) {
-        return this.entrySet()
-                .stream()
-                .filter(e -> e.getKey().isAssignableFrom(key))
-                .findFirst();
+    @Nullable
+    private V findMostSpecific(Class<?> type) {
+        if (this.isEmpty()) {
+            return null;
+        }
+
+        // Walk the type hierarchy breadth-first so the closest
+        // registered supertype of the class wins
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            Class<?> next = queue.poll();
+            if (!visited.add(next)) {
+                continue;
+            }
+
+            V value = super.get(next);
+            if (value != null) {
+                return value;
+            }
+
+            if (next.getSuperclass() != null) {
+                queue.add(next.getSuperclass());
+            }
+
+            for (Class<?> superInterface : next.getInterfaces()) {
+                queue.add(superInterface);
+            }
+        }
+
+        return null;
     }
-}
\ No newline at end of file
+}